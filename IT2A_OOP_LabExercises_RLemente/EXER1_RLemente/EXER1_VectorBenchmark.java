@@ -0,0 +1,86 @@
+// Save this file as EXER1_VectorBenchmark.java
+// Run with: java --add-modules jdk.incubator.vector EXER1_VectorBenchmark [size ...]
+// (sizes are element counts; a 10^9 run needs about 8 GB of heap, e.g. -Xmx10g)
+
+import java.util.*;
+
+// Times the scalar and vector kernels of EXER1_VectorKernels on the same data
+// and checks that both give the same answers
+public class EXER1_VectorBenchmark {
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURE_ROUNDS = 10;
+
+    // Keeps results alive so the JIT cannot drop the work
+    private static long sink;
+
+    public static void main(String[] args) {
+        long[] sizes = {1_000_000L, 10_000_000L, 100_000_000L};
+        if (args.length > 0) {
+            sizes = new long[args.length];
+            for (int i = 0; i < args.length; i++) {
+                sizes[i] = (long) Double.parseDouble(args[i]);
+            }
+        }
+
+        System.out.println("Vector shape: " + EXER1_VectorKernels.describe());
+        for (long size : sizes) {
+            if (size > Integer.MAX_VALUE - 8) {
+                System.out.println("Skipping " + size + ": larger than a Java array");
+                continue;
+            }
+            int n = (int) size;
+            int[] numbers = new int[n];
+            Random random = new Random(42);
+            for (int i = 0; i < n; i++) {
+                numbers[i] = random.nextInt(2_000_001) - 1_000_000;
+            }
+            int[] evens = new int[n];
+
+            check(numbers, evens);
+            System.out.printf("%n%,d elements%n", n);
+            report("even filter", time(() -> EXER1_VectorKernels.evenFilterScalar(numbers, evens, 0, 0)),
+                    time(() -> EXER1_VectorKernels.evenFilterVector(numbers, evens)), n);
+            report("sum of squares", time(() -> EXER1_VectorKernels.sumOfSquaresScalar(numbers, 0)),
+                    time(() -> EXER1_VectorKernels.sumOfSquaresVector(numbers)), n);
+            report("max", time(() -> EXER1_VectorKernels.maxScalar(numbers, 0, Integer.MIN_VALUE)),
+                    time(() -> EXER1_VectorKernels.maxVector(numbers)), n);
+        }
+        System.out.println("\n(checksum " + sink + ")");
+    }
+
+    private static void check(int[] numbers, int[] evens) {
+        int scalarCount = EXER1_VectorKernels.evenFilterScalar(numbers, evens, 0, 0);
+        long scalarChecksum = Arrays.hashCode(Arrays.copyOf(evens, scalarCount));
+        int vectorCount = EXER1_VectorKernels.evenFilterVector(numbers, evens);
+        long vectorChecksum = Arrays.hashCode(Arrays.copyOf(evens, vectorCount));
+        if (scalarCount != vectorCount || scalarChecksum != vectorChecksum
+                || EXER1_VectorKernels.sumOfSquaresScalar(numbers, 0) != EXER1_VectorKernels.sumOfSquaresVector(numbers)
+                || EXER1_VectorKernels.maxScalar(numbers, 0, Integer.MIN_VALUE) != EXER1_VectorKernels.maxVector(numbers)) {
+            throw new IllegalStateException("Scalar and vector kernels disagree");
+        }
+    }
+
+    private interface Kernel {
+        long run();
+    }
+
+    // Best time in nanoseconds over the measured rounds
+    private static long time(Kernel kernel) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            sink += kernel.run();
+        }
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURE_ROUNDS; i++) {
+            long start = System.nanoTime();
+            sink += kernel.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    private static void report(String name, long scalarNanos, long vectorNanos, int n) {
+        System.out.printf("  %-15s scalar %9.3f ms (%5.2f ns/elem)   vector %9.3f ms (%5.2f ns/elem)   speedup %5.2fx%n",
+                name, scalarNanos / 1e6, (double) scalarNanos / n, vectorNanos / 1e6, (double) vectorNanos / n,
+                (double) scalarNanos / vectorNanos);
+    }
+}
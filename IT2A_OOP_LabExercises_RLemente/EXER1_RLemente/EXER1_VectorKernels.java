@@ -0,0 +1,121 @@
+// Save this file as EXER1_VectorKernels.java
+// Compile and run with: --add-modules jdk.incubator.vector
+
+import jdk.incubator.vector.*;
+
+// SIMD versions of the EXER1_Imperative loops (even filter, sum of squares, max)
+// Every kernel has a plain scalar version; it is used for short arrays, for the
+// tail that does not fill a whole vector, and when run with -Dexer1.scalar=true
+public class EXER1_VectorKernels {
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+    // Same vector width in longs: half as many lanes, so every int vector widens into two
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+    private static final boolean SCALAR_ONLY = Boolean.getBoolean("exer1.scalar");
+    private static final int MIN_VECTOR_LENGTH = 64;
+
+    public static boolean useVector(int length) {
+        return !SCALAR_ONLY && INTS.length() > 1 && length >= MIN_VECTOR_LENGTH;
+    }
+
+    public static String describe() {
+        return SCALAR_ONLY ? "scalar only" : INTS.length() + " int lanes (" + INTS.vectorBitSize() + "-bit vectors)";
+    }
+
+    // ---------------- Even filter ----------------
+
+    // Copies the even numbers of src into dst (dst must be at least as long as src)
+    // and returns how many were copied
+    public static int evenFilter(int[] src, int[] dst) {
+        return useVector(src.length) ? evenFilterVector(src, dst) : evenFilterScalar(src, dst, 0, 0);
+    }
+
+    public static int evenFilterScalar(int[] src, int[] dst, int from, int count) {
+        for (int i = from; i < src.length; i++) {
+            int num = src[i];
+            if ((num & 1) == 0) {
+                dst[count++] = num;
+            }
+        }
+        return count;
+    }
+
+    // JDK 17 has no compress(), so the mask decides: all even -> one vector store,
+    // none even -> nothing, mixed -> copy just the set lanes
+    public static int evenFilterVector(int[] src, int[] dst) {
+        int count = 0;
+        int i = 0;
+        int upper = INTS.loopBound(src.length);
+        for (; i < upper; i += INTS.length()) {
+            IntVector v = IntVector.fromArray(INTS, src, i);
+            VectorMask<Integer> even = v.and(1).compare(VectorOperators.EQ, 0);
+            if (even.allTrue()) {
+                v.intoArray(dst, count);
+                count += INTS.length();
+            } else if (even.anyTrue()) {
+                long lanes = even.toLong();
+                while (lanes != 0) {
+                    dst[count++] = src[i + Long.numberOfTrailingZeros(lanes)];
+                    lanes &= lanes - 1;
+                }
+            }
+        }
+        return evenFilterScalar(src, dst, i, count);
+    }
+
+    // ---------------- Sum of squares ----------------
+
+    // Summed as long, so large inputs do not overflow like the int version in EXER1_Imperative
+    public static long sumOfSquares(int[] numbers) {
+        return useVector(numbers.length) ? sumOfSquaresVector(numbers) : sumOfSquaresScalar(numbers, 0);
+    }
+
+    public static long sumOfSquaresScalar(int[] numbers, int from) {
+        long sum = 0;
+        for (int i = from; i < numbers.length; i++) {
+            long num = numbers[i];
+            sum += num * num;
+        }
+        return sum;
+    }
+
+    // Each int vector is widened into two long vectors, then squared and added
+    public static long sumOfSquaresVector(int[] numbers) {
+        LongVector low = LongVector.zero(LONGS);
+        LongVector high = LongVector.zero(LONGS);
+        int i = 0;
+        int upper = INTS.loopBound(numbers.length);
+        for (; i < upper; i += INTS.length()) {
+            IntVector v = IntVector.fromArray(INTS, numbers, i);
+            LongVector a = (LongVector) v.convertShape(VectorOperators.I2L, LONGS, 0);
+            LongVector b = (LongVector) v.convertShape(VectorOperators.I2L, LONGS, 1);
+            low = low.add(a.mul(a));
+            high = high.add(b.mul(b));
+        }
+        return low.add(high).reduceLanes(VectorOperators.ADD) + sumOfSquaresScalar(numbers, i);
+    }
+
+    // ---------------- Maximum ----------------
+
+    // Integer.MIN_VALUE for an empty array, same as EXER1_Imperative
+    public static int max(int[] numbers) {
+        return useVector(numbers.length) ? maxVector(numbers) : maxScalar(numbers, 0, Integer.MIN_VALUE);
+    }
+
+    public static int maxScalar(int[] numbers, int from, int max) {
+        for (int i = from; i < numbers.length; i++) {
+            max = Math.max(max, numbers[i]);
+        }
+        return max;
+    }
+
+    // Lane-wise max over the array, then one reduction across the lanes
+    public static int maxVector(int[] numbers) {
+        IntVector acc = IntVector.broadcast(INTS, Integer.MIN_VALUE);
+        int i = 0;
+        int upper = INTS.loopBound(numbers.length);
+        for (; i < upper; i += INTS.length()) {
+            acc = acc.max(IntVector.fromArray(INTS, numbers, i));
+        }
+        return maxScalar(numbers, i, acc.reduceLanes(VectorOperators.MAX));
+    }
+}
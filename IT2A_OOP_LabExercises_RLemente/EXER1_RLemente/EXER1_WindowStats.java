@@ -0,0 +1,207 @@
+// Save this file as EXER1_WindowStats.java
+
+import java.util.*;
+
+// The EXER1 statistics (count of evens, sum of squares, max, count of primes)
+// kept up to date over a sliding window of a live stream of numbers.
+//
+// Count-based window: the last N numbers.  Time-based window: numbers from
+// the last T milliseconds (at most N of them are kept).  Everything lives in
+// fixed-size ring buffers, so each event is O(1) amortized:
+//   - evens, primes and the sum of squares are running totals, undone on eviction
+//   - max comes from a monotonic deque (front = largest number still in the window)
+public class EXER1_WindowStats {
+    private static final int FLAG_EVEN = 1;
+    private static final int FLAG_PRIME = 2;
+
+    // Primes below this come from a sieve; larger numbers use Miller-Rabin
+    private static final int SIEVE_LIMIT = 1 << 20;
+    private static final BitSet COMPOSITE = sieve(SIEVE_LIMIT);
+
+    private final int capacity;
+    private final long windowMillis;     // 0 for a count-based window
+
+    // Ring buffer of the numbers in the window, indexed by sequence number % capacity
+    private final int[] values;
+    private final long[] times;
+    private final byte[] flags;
+    private long head = 0;               // sequence number of the oldest number
+    private long tail = 0;               // sequence number the next number gets
+
+    // Monotonic deque of sequence numbers, values decreasing from front to back
+    private final long[] maxDeque;
+    private long dequeHead = 0, dequeTail = 0;
+
+    private int evenCount = 0;
+    private int primeCount = 0;
+    private long sumOfSquares = 0;
+    private long dropped = 0;            // time window only: numbers pushed out because it was full
+
+    // Count-based window of the last "size" numbers
+    public EXER1_WindowStats(int size) {
+        this(size, 0);
+    }
+
+    // Time-based window of the last windowMillis, holding at most maxEvents numbers
+    public EXER1_WindowStats(int maxEvents, long windowMillis) {
+        if (maxEvents <= 0) throw new IllegalArgumentException("Window size must be positive: " + maxEvents);
+        if (windowMillis < 0) throw new IllegalArgumentException("Window time cannot be negative: " + windowMillis);
+        this.capacity = maxEvents;
+        this.windowMillis = windowMillis;
+        this.values = new int[maxEvents];
+        this.times = new long[maxEvents];
+        this.flags = new byte[maxEvents];
+        this.maxDeque = new long[maxEvents];
+    }
+
+    // Adds a number to a count-based window
+    public void add(int value) {
+        add(value, 0);
+    }
+
+    // Adds a number seen at timeMillis (times must not go backwards)
+    public void add(int value, long timeMillis) {
+        if (windowMillis > 0) expire(timeMillis);
+        if (size() == capacity) {
+            if (windowMillis > 0) dropped++;
+            evictOldest();
+        }
+
+        int slot = slot(tail);
+        int flag = 0;
+        if ((value & 1) == 0) {
+            flag |= FLAG_EVEN;
+            evenCount++;
+        }
+        if (isPrime(value)) {
+            flag |= FLAG_PRIME;
+            primeCount++;
+        }
+        values[slot] = value;
+        times[slot] = timeMillis;
+        flags[slot] = (byte) flag;
+        sumOfSquares += (long) value * value;
+
+        // Smaller numbers behind the new one can never be the max again
+        while (dequeTail > dequeHead && values[slot(maxDeque[slot(dequeTail - 1)])] <= value) {
+            dequeTail--;
+        }
+        maxDeque[slot(dequeTail)] = tail;
+        dequeTail++;
+        tail++;
+    }
+
+    // Time-based window: drops numbers older than windowMillis before nowMillis
+    public void expire(long nowMillis) {
+        while (size() > 0 && times[slot(head)] <= nowMillis - windowMillis) {
+            evictOldest();
+        }
+    }
+
+    private void evictOldest() {
+        int slot = slot(head);
+        int value = values[slot];
+        if ((flags[slot] & FLAG_EVEN) != 0) evenCount--;
+        if ((flags[slot] & FLAG_PRIME) != 0) primeCount--;
+        sumOfSquares -= (long) value * value;
+        if (dequeTail > dequeHead && maxDeque[slot(dequeHead)] == head) dequeHead++;
+        head++;
+    }
+
+    private int slot(long sequence) {
+        return (int) (sequence % capacity);
+    }
+
+    public int size() { return (int) (tail - head); }
+    public int getEvenCount() { return evenCount; }
+    public int getPrimeCount() { return primeCount; }
+    public long getSumOfSquares() { return sumOfSquares; }
+    public long getDropped() { return dropped; }
+
+    // Integer.MIN_VALUE for an empty window, same as EXER1_Imperative
+    public int getMax() {
+        return dequeTail > dequeHead ? values[slot(maxDeque[slot(dequeHead)])] : Integer.MIN_VALUE;
+    }
+
+    @Override
+    public String toString() {
+        return "window of " + size() + ": evens=" + evenCount + ", sumOfSquares=" + sumOfSquares
+                + ", max=" + getMax() + ", primes=" + primeCount;
+    }
+
+    // ---------------- Prime test ----------------
+
+    public static boolean isPrime(int n) {
+        if (n < 2) return false;
+        if (n < SIEVE_LIMIT) return !COMPOSITE.get(n);
+        if (n % 2 == 0) return false;
+        // Bases 2, 7 and 61 are enough for every int
+        return passes(n, 2) && passes(n, 7) && passes(n, 61);
+    }
+
+    // One Miller-Rabin round
+    private static boolean passes(int n, long base) {
+        long d = n - 1;
+        int r = 0;
+        while ((d & 1) == 0) {
+            d >>= 1;
+            r++;
+        }
+        long x = powMod(base, d, n);
+        if (x == 1 || x == n - 1) return true;
+        for (int i = 1; i < r; i++) {
+            x = x * x % n;
+            if (x == n - 1) return true;
+        }
+        return false;
+    }
+
+    private static long powMod(long base, long exp, long mod) {
+        long result = 1;
+        base %= mod;
+        while (exp > 0) {
+            if ((exp & 1) == 1) result = result * base % mod;
+            base = base * base % mod;
+            exp >>= 1;
+        }
+        return result;
+    }
+
+    private static BitSet sieve(int limit) {
+        BitSet composite = new BitSet(limit);
+        for (int i = 2; (long) i * i < limit; i++) {
+            if (!composite.get(i)) {
+                for (int j = i * i; j < limit; j += i) composite.set(j);
+            }
+        }
+        return composite;
+    }
+
+    // ---------------- Demo ----------------
+
+    public static void main(String[] args) {
+        // Count-based window over the EXER1 dataset
+        EXER1_WindowStats lastFive = new EXER1_WindowStats(5);
+        for (int num = 1; num <= 10; num++) {
+            lastFive.add(num);
+            System.out.println("after " + num + ": " + lastFive);
+        }
+
+        // Time-based window: 1 second of simulated sensor counts at 1 event per microsecond
+        int events = 10_000_000;
+        EXER1_WindowStats lastSecond = new EXER1_WindowStats(2_000_000, 1000);
+        Random random = new Random(42);
+        int[] feed = new int[events];
+        for (int i = 0; i < events; i++) {
+            feed[i] = random.nextInt(100_000);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < events; i++) {
+            lastSecond.add(feed[i], i / 1000);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.println("\nlast second: " + lastSecond);
+        System.out.printf("%,d events in %.2f s (%,.0f events/s)%n", events, seconds, events / seconds);
+    }
+}
@@ -29,6 +29,24 @@ public class EXER2_Car {
         this.engineType = engineType;
     }
 
+    // Getters
+    public String getBrand() { return brand; }
+    public String getModel() { return model; }
+    public String getColor() { return color; }
+    public String getPlateNo() { return plateNo; }
+    public String getChassisNo() { return chassisNo; }
+    public int getYear() { return year; }
+    public String getEngineType() { return engineType; }
+
+    // Copies with one field changed (used by EXER2_CarRegistry, which never edits a car in place)
+    public EXER2_Car withColor(String newColor) {
+        return new EXER2_Car(brand, model, newColor, plateNo, chassisNo, year, engineType);
+    }
+
+    public EXER2_Car withPlateNo(String newPlateNo) {
+        return new EXER2_Car(brand, model, color, newPlateNo, chassisNo, year, engineType);
+    }
+
     // Display info method
     public void displayInfo() {
         System.out.println("Brand: " + this.brand);
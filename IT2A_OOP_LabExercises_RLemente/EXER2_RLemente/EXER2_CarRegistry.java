@@ -0,0 +1,262 @@
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.function.*;
+
+// Car registry where readers always see a consistent point-in-time snapshot.
+// The cars are kept in a persistent (immutable) AVL tree keyed by chassis number:
+// a change copies only the path from the root to the changed car and then
+// publishes the new root with one volatile write. A snapshot is just a root, so
+// readers never lock and an export keeps reading its own version while writers
+// carry on. Old versions are freed by the garbage collector once no snapshot
+// uses them. Writers take turns on a lock.
+public class EXER2_CarRegistry {
+
+    // One tree node; never changed after it is built
+    private static final class Node {
+        final String key;
+        final EXER2_Car car;
+        final Node left, right;
+        final int height, size;
+
+        Node(String key, EXER2_Car car, Node left, Node right) {
+            this.key = key;
+            this.car = car;
+            this.left = left;
+            this.right = right;
+            this.height = Math.max(height(left), height(right)) + 1;
+            this.size = size(left) + size(right) + 1;
+        }
+    }
+
+    // Read-only view of the registry at one version
+    public static final class Snapshot {
+        private final Node root;
+        private final long version;
+
+        private Snapshot(Node root, long version) {
+            this.root = root;
+            this.version = version;
+        }
+
+        public long getVersion() { return version; }
+        public int size() { return EXER2_CarRegistry.size(root); }
+
+        public EXER2_Car get(String chassisNo) {
+            Node node = root;
+            while (node != null) {
+                int cmp = chassisNo.compareTo(node.key);
+                if (cmp == 0) return node.car;
+                node = cmp < 0 ? node.left : node.right;
+            }
+            return null;
+        }
+
+        // Visits every car in chassis number order
+        public void forEach(Consumer<EXER2_Car> action) {
+            Deque<Node> stack = new ArrayDeque<>();
+            Node node = root;
+            while (node != null || !stack.isEmpty()) {
+                while (node != null) {
+                    stack.push(node);
+                    node = node.left;
+                }
+                node = stack.pop();
+                action.accept(node.car);
+                node = node.right;
+            }
+        }
+
+        public List<EXER2_Car> find(Predicate<EXER2_Car> filter) {
+            List<EXER2_Car> found = new ArrayList<>();
+            forEach(car -> {
+                if (filter.test(car)) found.add(car);
+            });
+            return found;
+        }
+
+        public <K> Map<K, Integer> countBy(Function<EXER2_Car, K> key) {
+            Map<K, Integer> counts = new TreeMap<>();
+            forEach(car -> counts.merge(key.apply(car), 1, Integer::sum));
+            return counts;
+        }
+    }
+
+    // Changes made inside apply(); all of them become visible together
+    public static final class Transaction {
+        private Node root;
+
+        private Transaction(Node root) {
+            this.root = root;
+        }
+
+        public EXER2_Car get(String chassisNo) {
+            return new Snapshot(root, 0).get(chassisNo);
+        }
+
+        public void register(EXER2_Car car) {
+            if (get(car.getChassisNo()) != null) {
+                throw new IllegalArgumentException("Chassis number already registered: " + car.getChassisNo());
+            }
+            root = put(root, car.getChassisNo(), car);
+        }
+
+        // Replaces a car with change(car); the chassis number cannot change
+        public EXER2_Car update(String chassisNo, UnaryOperator<EXER2_Car> change) {
+            EXER2_Car old = get(chassisNo);
+            if (old == null) throw new NoSuchElementException("No car with chassis number " + chassisNo);
+            EXER2_Car updated = change.apply(old);
+            if (!updated.getChassisNo().equals(chassisNo)) {
+                throw new IllegalArgumentException("Chassis number cannot change: " + chassisNo);
+            }
+            root = put(root, chassisNo, updated);
+            return updated;
+        }
+
+        public boolean remove(String chassisNo) {
+            if (get(chassisNo) == null) return false;
+            root = delete(root, chassisNo);
+            return true;
+        }
+    }
+
+    private volatile Snapshot current = new Snapshot(null, 0);
+    private final Object writeLock = new Object();
+
+    // Never blocks: the latest published version
+    public Snapshot snapshot() {
+        return current;
+    }
+
+    // Runs the changes on a private copy and publishes them as one new version
+    public Snapshot apply(Consumer<Transaction> changes) {
+        synchronized (writeLock) {
+            Snapshot base = current;
+            Transaction tx = new Transaction(base.root);
+            changes.accept(tx);
+            if (tx.root != base.root) current = new Snapshot(tx.root, base.version + 1);
+            return current;
+        }
+    }
+
+    public void register(EXER2_Car car) {
+        apply(tx -> tx.register(car));
+    }
+
+    public void update(String chassisNo, UnaryOperator<EXER2_Car> change) {
+        apply(tx -> tx.update(chassisNo, change));
+    }
+
+    public boolean remove(String chassisNo) {
+        boolean[] removed = new boolean[1];
+        apply(tx -> removed[0] = tx.remove(chassisNo));
+        return removed[0];
+    }
+
+    // ---------------- Persistent AVL tree ----------------
+
+    private static int height(Node node) { return node == null ? 0 : node.height; }
+    private static int size(Node node) { return node == null ? 0 : node.size; }
+
+    private static Node put(Node node, String key, EXER2_Car car) {
+        if (node == null) return new Node(key, car, null, null);
+        int cmp = key.compareTo(node.key);
+        if (cmp == 0) return new Node(key, car, node.left, node.right);
+        return cmp < 0
+                ? balance(node.key, node.car, put(node.left, key, car), node.right)
+                : balance(node.key, node.car, node.left, put(node.right, key, car));
+    }
+
+    private static Node delete(Node node, String key) {
+        if (node == null) return null;
+        int cmp = key.compareTo(node.key);
+        if (cmp < 0) return balance(node.key, node.car, delete(node.left, key), node.right);
+        if (cmp > 0) return balance(node.key, node.car, node.left, delete(node.right, key));
+        if (node.left == null) return node.right;
+        if (node.right == null) return node.left;
+        Node next = node.right;
+        while (next.left != null) next = next.left;
+        return balance(next.key, next.car, node.left, delete(node.right, next.key));
+    }
+
+    // Builds a node from the parts, rotating if one side is more than 1 taller
+    private static Node balance(String key, EXER2_Car car, Node left, Node right) {
+        if (height(left) > height(right) + 1) {
+            if (height(left.left) >= height(left.right)) {
+                return new Node(left.key, left.car, left.left, new Node(key, car, left.right, right));
+            }
+            Node middle = left.right;
+            return new Node(middle.key, middle.car,
+                    new Node(left.key, left.car, left.left, middle.left),
+                    new Node(key, car, middle.right, right));
+        }
+        if (height(right) > height(left) + 1) {
+            if (height(right.right) >= height(right.left)) {
+                return new Node(right.key, right.car, new Node(key, car, left, right.left), right.right);
+            }
+            Node middle = right.left;
+            return new Node(middle.key, middle.car,
+                    new Node(key, car, left, middle.left),
+                    new Node(right.key, right.car, middle.right, right.right));
+        }
+        return new Node(key, car, left, right);
+    }
+
+    // Demo: one writer repaints cars while readers export and count colours.
+    // Every repaint swaps one red car and one blue car in a single transaction,
+    // so each snapshot must always show the same number of red cars.
+    public static void main(String[] args) throws Exception {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        EXER2_CarRegistry registry = new EXER2_CarRegistry();
+        registry.apply(tx -> {
+            for (int i = 0; i < count; i++) {
+                tx.register(new EXER2_Car("Toyota", "Vios", i % 2 == 0 ? "Red" : "Blue",
+                        String.format("PLT-%06d", i), String.format("CHS-%07d", i), 2020, "Gasoline"));
+            }
+        });
+        int reds = registry.snapshot().countBy(EXER2_Car::getColor).get("Red");
+        System.out.println("Registered " + registry.snapshot().size() + " cars, " + reds + " red");
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong writes = new AtomicLong();
+        Thread writer = new Thread(() -> {
+            Random random = new Random(1);
+            while (running.get()) {
+                String a = String.format("CHS-%07d", random.nextInt(count));
+                String b = String.format("CHS-%07d", random.nextInt(count));
+                registry.apply(tx -> {
+                    EXER2_Car carA = tx.get(a), carB = tx.get(b);
+                    if (!carA.getColor().equals(carB.getColor())) {
+                        tx.update(a, car -> car.withColor(carB.getColor()));
+                        tx.update(b, car -> car.withColor(carA.getColor()));
+                    }
+                });
+                writes.incrementAndGet();
+            }
+        });
+
+        int readers = 4;
+        ExecutorService pool = Executors.newFixedThreadPool(readers);
+        List<Future<Integer>> exports = new ArrayList<>();
+        writer.start();
+        long start = System.nanoTime();
+        for (int r = 0; r < readers * 5; r++) {
+            exports.add(pool.submit(() -> {
+                // A full export: the writer keeps publishing new versions meanwhile
+                Snapshot snapshot = registry.snapshot();
+                int seen = snapshot.countBy(EXER2_Car::getColor).get("Red");
+                if (seen != reds) throw new IllegalStateException("Inconsistent snapshot: " + seen + " red cars");
+                return snapshot.size();
+            }));
+        }
+        for (Future<Integer> export : exports) export.get();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        running.set(false);
+        writer.join();
+        pool.shutdown();
+
+        System.out.printf("%d exports of %,d cars, all consistent, while %,d writes were published (%.1f s)%n",
+                exports.size(), count, writes.get(), seconds);
+        System.out.println("Latest version: " + registry.snapshot().getVersion());
+    }
+}
@@ -23,5 +23,17 @@ public class EXER2_CarTester {
             cars[i].displayInfo();
             System.out.println("---------------");
         }
+
+        // Fuzzy search with partial or misread plate numbers
+        EXER2_PlateIndex index = new EXER2_PlateIndex();
+        for (EXER2_Car car : cars) {
+            index.add(car);
+        }
+        // A '?' typed into a stored plate (unreadable character) is ignored when indexing
+        index.add(new EXER2_Car("Nissan", "Navara", "Gray", "NKR-7?31", "CHS-009", 2019, "Diesel"));
+        String[] searches = {"ABC-12?4", "MST-9989", "chs 004", "BWM-2222", "NKR-731"};
+        for (String search : searches) {
+            System.out.println("Search \"" + search + "\": " + index.search(search, 3));
+        }
     }
 }
@@ -0,0 +1,316 @@
+import java.util.*;
+
+// Fuzzy search over plate and chassis numbers.
+// Every number is cut into trigrams ("ABC1234" -> "^^A", "^AB", "ABC", ... "34$")
+// and each trigram keeps a list of the numbers that contain it. A search counts
+// shared trigrams to find a few candidates, then checks them with edit distance.
+// A '?' in the search matches any one character, e.g. "ABC-12?4".
+public class EXER2_PlateIndex {
+    public static final int DEFAULT_MAX_EDITS = 1;
+
+    // Characters a trigram can hold: A-Z, 0-9, '^' (start) and '$' (end)
+    private static final int ALPHABET = 38;
+    private static final int START = 36, END = 37;
+
+    private static final int PLATE = 0, CHASSIS = 1;
+    private static final String[] FIELD_NAMES = {"plate", "chassis"};
+
+    // One search result
+    public static class Match {
+        private final EXER2_Car car;
+        private final String field;
+        private final int distance;
+
+        Match(EXER2_Car car, String field, int distance) {
+            this.car = car;
+            this.field = field;
+            this.distance = distance;
+        }
+
+        public EXER2_Car getCar() { return car; }
+        public String getField() { return field; }
+        public int getDistance() { return distance; }
+
+        @Override
+        public String toString() {
+            return car.getPlateNo() + " / " + car.getChassisNo() + " (" + car.getBrand() + " " + car.getModel()
+                    + ", " + field + " match, " + distance + " edit" + (distance == 1 ? "" : "s") + ")";
+        }
+    }
+
+    private final List<EXER2_Car> cars = new ArrayList<>();
+    // Key k is field (k & 1) of car (k >> 1)
+    private final List<String> keys = new ArrayList<>();
+    private final int[][] postings = new int[ALPHABET * ALPHABET * ALPHABET][];
+    private final int[] postingSizes = new int[ALPHABET * ALPHABET * ALPHABET];
+
+    private byte[] keyLengths = new byte[1024];
+
+    // Reused between searches: trigram hits per key, which keys were touched and the candidates
+    private int[] hits = new int[0];
+    private int[] touched = new int[0];
+    private int[] candidates = new int[0];
+
+    public void add(EXER2_Car car) {
+        int carId = cars.size();
+        cars.add(car);
+        addKey(carId * 2 + PLATE, storedKey(car.getPlateNo()));
+        addKey(carId * 2 + CHASSIS, storedKey(car.getChassisNo()));
+    }
+
+    public int size() { return cars.size(); }
+
+    private void addKey(int key, String text) {
+        keys.add(text);
+        if (key == keyLengths.length) keyLengths = Arrays.copyOf(keyLengths, key * 2);
+        keyLengths[key] = (byte) Math.min(text.length(), Byte.MAX_VALUE);
+        for (int code : trigrams(text)) {
+            int[] list = postings[code];
+            if (list == null) {
+                list = postings[code] = new int[4];
+            } else if (postingSizes[code] == list.length) {
+                list = postings[code] = Arrays.copyOf(list, list.length * 2);
+            }
+            // A trigram that repeats in the same number ("1111") is listed once
+            if (postingSizes[code] == 0 || list[postingSizes[code] - 1] != key) {
+                list[postingSizes[code]++] = key;
+            }
+        }
+    }
+
+    public List<Match> search(String query, int limit) {
+        return search(query, DEFAULT_MAX_EDITS, limit);
+    }
+
+    // Cars whose plate or chassis number is within maxEdits of the query, best first
+    public List<Match> search(String query, int maxEdits, int limit) {
+        String pattern = normalize(query);
+        if (pattern.isEmpty()) return Collections.emptyList();
+
+        // Trigrams with a '?' in them cannot be looked up
+        List<Integer> codes = new ArrayList<>();
+        for (int code : trigrams(pattern)) {
+            if (code >= 0 && !codes.contains(code)) codes.add(code);
+        }
+
+        // One edit spoils at most 3 trigrams, a swap of two neighbours at most 4
+        int needed = codes.size() - 4 * maxEdits;
+        int candidateCount = needed > 0 ? candidates(codes, needed, pattern.length(), maxEdits) : allKeys();
+
+        // Best match per car, checked with the real edit distance
+        Map<Integer, Match> best = new HashMap<>();
+        for (int c = 0; c < candidateCount; c++) {
+            int key = candidates[c];
+            String text = keys.get(key);
+            if (Math.abs(text.length() - pattern.length()) > maxEdits) continue;
+            int distance = maxEdits <= 1 ? withinOneEdit(pattern, text) : editDistance(pattern, text, maxEdits);
+            if (distance > maxEdits) continue;
+            int carId = key >> 1;
+            Match current = best.get(carId);
+            if (current == null || distance < current.distance) {
+                best.put(carId, new Match(cars.get(carId), FIELD_NAMES[key & 1], distance));
+            }
+        }
+
+        List<Match> results = new ArrayList<>(best.values());
+        results.sort(Comparator.comparingInt(Match::getDistance)
+                .thenComparing(m -> !m.field.equals("plate"))
+                .thenComparing(m -> m.car.getPlateNo()));
+        return results.size() > limit ? new ArrayList<>(results.subList(0, limit)) : results;
+    }
+
+    // Fills candidates with the keys of about the right length that share at least
+    // "needed" of the query trigrams (count filter); returns how many there are.
+    // A key with that many hits must be in one of the (codes - needed + 1) shortest
+    // lists, so only those are scanned; the long lists are just binary searched.
+    private int candidates(List<Integer> codes, int needed, int length, int maxEdits) {
+        ensureScratch();
+        List<Integer> sorted = new ArrayList<>(codes);
+        sorted.sort(Comparator.comparingInt(code -> postingSizes[code]));
+        int scanned = sorted.size() - needed + 1;
+
+        int touchedCount = 0;
+        for (int c = 0; c < scanned; c++) {
+            int code = sorted.get(c);
+            int[] list = postings[code];
+            int size = postingSizes[code];
+            for (int i = 0; i < size; i++) {
+                int key = list[i];
+                if (hits[key]++ == 0) touched[touchedCount++] = key;
+            }
+        }
+
+        int candidateCount = 0;
+        for (int t = 0; t < touchedCount; t++) {
+            int key = touched[t];
+            if (Math.abs(keyLengths[key] - length) <= maxEdits) {
+                // Keys are added in increasing order, so every list is sorted
+                for (int c = scanned; c < sorted.size() && hits[key] < needed; c++) {
+                    int code = sorted.get(c);
+                    if (postings[code] != null && Arrays.binarySearch(postings[code], 0, postingSizes[code], key) >= 0) {
+                        hits[key]++;
+                    }
+                }
+                if (hits[key] >= needed) candidates[candidateCount++] = key;
+            }
+            hits[key] = 0;
+        }
+        return candidateCount;
+    }
+
+    // Too few trigrams to filter on: every key is a candidate
+    private int allKeys() {
+        ensureScratch();
+        for (int i = 0; i < keys.size(); i++) candidates[i] = i;
+        return keys.size();
+    }
+
+    private void ensureScratch() {
+        if (hits.length < keys.size()) {
+            hits = new int[keys.size()];
+            touched = new int[keys.size()];
+            candidates = new int[keys.size()];
+        }
+    }
+
+    // Upper case letters and digits only, so "abc 1234" finds "ABC-1234"; '?' is kept
+    public static String normalize(String number) {
+        if (number == null) return "";
+        StringBuilder sb = new StringBuilder(number.length());
+        for (int i = 0; i < number.length(); i++) {
+            char c = Character.toUpperCase(number.charAt(i));
+            if ((c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '?') sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    // A '?' is a wildcard only in searches; in a stored number it is just dropped
+    private static String storedKey(String number) {
+        return normalize(number).replace("?", "");
+    }
+
+    // Trigram codes of "^^text$"; -1 for a trigram that holds a '?'
+    private static int[] trigrams(String text) {
+        int[] chars = new int[text.length() + 3];
+        chars[0] = START;
+        chars[1] = START;
+        for (int i = 0; i < text.length(); i++) chars[i + 2] = charCode(text.charAt(i));
+        chars[chars.length - 1] = END;
+
+        int[] codes = new int[chars.length - 2];
+        for (int i = 0; i < codes.length; i++) {
+            int a = chars[i], b = chars[i + 1], c = chars[i + 2];
+            codes[i] = (a < 0 || b < 0 || c < 0) ? -1 : (a * ALPHABET + b) * ALPHABET + c;
+        }
+        return codes;
+    }
+
+    private static int charCode(char c) {
+        if (c >= 'A' && c <= 'Z') return c - 'A';
+        if (c >= '0' && c <= '9') return 26 + (c - '0');
+        return -1; // '?'
+    }
+
+    // Same result as editDistance(pattern, text, 1) without the table: 0, 1, or 2 for "more"
+    static int withinOneEdit(String pattern, String text) {
+        int n = pattern.length(), m = text.length();
+        int i = 0;
+        while (i < n && i < m && matches(pattern.charAt(i), text.charAt(i))) i++;
+        if (i == n && i == m) return 0;
+
+        if (n == m) {
+            // One wrong character, or two neighbours swapped
+            if (restMatches(pattern, i + 1, text, i + 1)) return 1;
+            if (i + 1 < n && matches(pattern.charAt(i), text.charAt(i + 1))
+                    && matches(pattern.charAt(i + 1), text.charAt(i)) && restMatches(pattern, i + 2, text, i + 2)) {
+                return 1;
+            }
+        } else if (n == m + 1) {
+            if (restMatches(pattern, i + 1, text, i)) return 1;   // extra character in the search
+        } else if (m == n + 1) {
+            if (restMatches(pattern, i, text, i + 1)) return 1;   // character missing from the search
+        }
+        return 2;
+    }
+
+    private static boolean matches(char p, char t) {
+        return p == '?' || p == t;
+    }
+
+    private static boolean restMatches(String pattern, int i, String text, int j) {
+        if (pattern.length() - i != text.length() - j) return false;
+        for (; i < pattern.length(); i++, j++) {
+            if (!matches(pattern.charAt(i), text.charAt(j))) return false;
+        }
+        return true;
+    }
+
+    // Edit distance counting a swap of two neighbours ("BWM" for "BMW") as one edit;
+    // '?' in the pattern matches anything. Gives up with maxEdits + 1 as soon as
+    // two rows in a row are over the limit.
+    static int editDistance(String pattern, String text, int maxEdits) {
+        int[] beforePrevious = new int[text.length() + 1];
+        int[] previous = new int[text.length() + 1];
+        int[] current = new int[text.length() + 1];
+        for (int j = 0; j <= text.length(); j++) previous[j] = j;
+        int previousMin = 0;
+
+        for (int i = 1; i <= pattern.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            char p = pattern.charAt(i - 1);
+            for (int j = 1; j <= text.length(); j++) {
+                char t = text.charAt(j - 1);
+                int cost = (p == '?' || p == t) ? 0 : 1;
+                int d = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && p == text.charAt(j - 2) && pattern.charAt(i - 2) == t) {
+                    d = Math.min(d, beforePrevious[j - 2] + 1);
+                }
+                current[j] = d;
+                rowMin = Math.min(rowMin, d);
+            }
+            if (rowMin > maxEdits && previousMin > maxEdits) return maxEdits + 1;
+            previousMin = rowMin;
+            int[] swap = beforePrevious;
+            beforePrevious = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[text.length()], maxEdits + 1);
+    }
+
+    // Timing run over a large generated registry
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Random random = new Random(42);
+        EXER2_PlateIndex index = new EXER2_PlateIndex();
+        List<String> plates = new ArrayList<>();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            String plate = "" + (char) ('A' + random.nextInt(26)) + (char) ('A' + random.nextInt(26))
+                    + (char) ('A' + random.nextInt(26)) + "-" + (1000 + random.nextInt(9000));
+            String chassis = String.format("CHS-%07d", i);
+            index.add(new EXER2_Car("Brand", "Model", "Color", plate, chassis, 2000 + random.nextInt(25), "Gasoline"));
+            if (i % 1000 == 0) plates.add(plate);
+        }
+        System.out.printf("Indexed %,d cars in %.1f s%n", count, (System.nanoTime() - start) / 1e9);
+
+        // Misread plates: one digit replaced by '?', or one character wrong
+        int queries = 0;
+        long found = 0;
+        start = System.nanoTime();
+        for (String plate : plates) {
+            char[] wildcard = plate.toCharArray();
+            wildcard[5 + random.nextInt(3)] = '?';
+            char[] misread = plate.toCharArray();
+            misread[random.nextInt(3)] = (char) ('A' + random.nextInt(26));
+            found += index.search(new String(wildcard), 10).size();
+            found += index.search(new String(misread), 10).size();
+            queries += 2;
+        }
+        double millis = (System.nanoTime() - start) / 1e6;
+        System.out.printf("%d searches, %.2f ms each on average, %.1f candidates per search%n",
+                queries, millis / queries, (double) found / queries);
+    }
+}
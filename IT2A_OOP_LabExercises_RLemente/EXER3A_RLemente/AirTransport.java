@@ -0,0 +1,6 @@
+// Air transport branch of EXER3A_Transportation
+class AirTransport extends EXER3A_Transportation {
+    public AirTransport(String name, int capacity) {
+        super(name, capacity);
+    }
+}
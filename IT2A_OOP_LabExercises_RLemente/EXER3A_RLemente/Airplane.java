@@ -0,0 +1,6 @@
+// Air transport
+class Airplane extends AirTransport {
+    public Airplane(String name, int capacity) {
+        super(name, capacity);
+    }
+}
@@ -0,0 +1,6 @@
+// Water transport
+class Boat extends WaterTransport {
+    public Boat(String name, int capacity) {
+        super(name, capacity);
+    }
+}
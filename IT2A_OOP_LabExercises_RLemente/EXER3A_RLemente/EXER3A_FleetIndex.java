@@ -0,0 +1,264 @@
+import java.util.*;
+
+// Tracks where every vehicle of the fleet is and whether it is free, and finds the
+// nearest free vehicles to a pickup point.
+// Positions are x/y in metres inside the service area. The area is cut into a
+// uniform grid of square cells; each vehicle sits in the array of its cell, so a
+// position update is O(1) (a move to another cell is a swap-remove plus an append)
+// and a k-nearest query looks at the rings of cells around the pickup point,
+// nearest ring first, and stops once no farther ring can hold anything closer.
+//
+// Not thread-safe: updates and queries are meant to come from one dispatcher thread.
+public class EXER3A_FleetIndex {
+    public static final double DEFAULT_CELL_METRES = 500;
+
+    // One nearest-vehicle answer
+    public static class Match {
+        private final EXER3A_Transportation vehicle;
+        private final double distance;
+
+        Match(EXER3A_Transportation vehicle, double distance) {
+            this.vehicle = vehicle;
+            this.distance = distance;
+        }
+
+        public EXER3A_Transportation getVehicle() { return vehicle; }
+        public double getDistance() { return distance; }
+
+        @Override
+        public String toString() {
+            return String.format("%s (%s, capacity %d) %.0f m away",
+                    vehicle.name, vehicle.getClass().getSimpleName(), vehicle.capacity, distance);
+        }
+    }
+
+    // Where a vehicle is, and its slot in the cell array
+    private static class Entry {
+        final EXER3A_Transportation vehicle;
+        double x, y;
+        boolean available = true;
+        Cell cell;
+        int slot;
+
+        Entry(EXER3A_Transportation vehicle) {
+            this.vehicle = vehicle;
+        }
+    }
+
+    private static class Cell {
+        Entry[] entries = new Entry[4];
+        int size;
+
+        void add(Entry entry) {
+            if (size == entries.length) entries = Arrays.copyOf(entries, size * 2);
+            entry.cell = this;
+            entry.slot = size;
+            entries[size++] = entry;
+        }
+
+        void remove(Entry entry) {
+            Entry last = entries[--size];
+            entries[entry.slot] = last;
+            last.slot = entry.slot;
+            entries[size] = null;
+            entry.cell = null;
+        }
+    }
+
+    private final double cellSize;
+    private final Map<Long, Cell> cells = new HashMap<>();
+    private final Map<EXER3A_Transportation, Entry> entries = new IdentityHashMap<>();
+    // Bounding box of the cells ever used, so a query knows when it has run out of rings
+    private int minCx = Integer.MAX_VALUE, maxCx = Integer.MIN_VALUE;
+    private int minCy = Integer.MAX_VALUE, maxCy = Integer.MIN_VALUE;
+
+    public EXER3A_FleetIndex() {
+        this(DEFAULT_CELL_METRES);
+    }
+
+    // cellSize should be about the distance at which a typical query finds its k vehicles
+    public EXER3A_FleetIndex(double cellSize) {
+        if (!(cellSize > 0)) throw new IllegalArgumentException("Cell size must be positive: " + cellSize);
+        this.cellSize = cellSize;
+    }
+
+    // Adds a vehicle (free) or moves a known one
+    public void updatePosition(EXER3A_Transportation vehicle, double x, double y) {
+        Entry entry = entries.get(vehicle);
+        if (entry == null) {
+            entry = new Entry(vehicle);
+            entries.put(vehicle, entry);
+        }
+        entry.x = x;
+        entry.y = y;
+        Cell target = cellAt(cellX(x), cellY(y));
+        if (entry.cell != target) {
+            if (entry.cell != null) entry.cell.remove(entry);
+            target.add(entry);
+        }
+    }
+
+    public void setAvailable(EXER3A_Transportation vehicle, boolean available) {
+        entry(vehicle).available = available;
+    }
+
+    public boolean isAvailable(EXER3A_Transportation vehicle) {
+        return entry(vehicle).available;
+    }
+
+    public double getX(EXER3A_Transportation vehicle) { return entry(vehicle).x; }
+    public double getY(EXER3A_Transportation vehicle) { return entry(vehicle).y; }
+
+    public void remove(EXER3A_Transportation vehicle) {
+        Entry entry = entries.remove(vehicle);
+        if (entry != null) entry.cell.remove(entry);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // The k nearest free vehicles of the given type (a subclass such as Tricycle.class,
+    // or a branch such as LandTransport.class) that seat at least minCapacity, nearest first
+    public List<Match> nearestAvailable(double x, double y, int k,
+                                        Class<? extends EXER3A_Transportation> type, int minCapacity) {
+        if (k <= 0 || cells.isEmpty()) return new ArrayList<>();
+        // Max-heap on distance holding the best k so far
+        PriorityQueue<Match> best = new PriorityQueue<>(k, (a, b) -> Double.compare(b.distance, a.distance));
+        int cx = cellX(x), cy = cellY(y);
+        // Distance from the point to the nearest edge of its own cell
+        double inset = Math.min(Math.min(x - cx * cellSize, (cx + 1) * cellSize - x),
+                                Math.min(y - cy * cellSize, (cy + 1) * cellSize - y));
+        int maxRing = Math.max(Math.max(cx - minCx, maxCx - cx), Math.max(cy - minCy, maxCy - cy));
+
+        for (int ring = 0; ring <= maxRing; ring++) {
+            // Anything in this ring or beyond is at least this far away
+            double ringDistance = ring == 0 ? 0 : inset + (ring - 1) * cellSize;
+            if (best.size() == k && best.peek().distance <= ringDistance) break;
+            for (int i = cx - ring; i <= cx + ring; i++) {
+                boolean edgeColumn = i == cx - ring || i == cx + ring;
+                int step = edgeColumn ? 1 : 2 * ring; // inner columns only have their top and bottom cell
+                for (int j = cy - ring; j <= cy + ring; j += Math.max(step, 1)) {
+                    Cell cell = cells.get(key(i, j));
+                    if (cell != null) scan(cell, x, y, k, type, minCapacity, best);
+                }
+            }
+        }
+
+        List<Match> result = new ArrayList<>(best);
+        result.sort(Comparator.comparingDouble(Match::getDistance));
+        return result;
+    }
+
+    private static void scan(Cell cell, double x, double y, int k, Class<? extends EXER3A_Transportation> type,
+                             int minCapacity, PriorityQueue<Match> best) {
+        for (int s = 0; s < cell.size; s++) {
+            Entry entry = cell.entries[s];
+            if (!entry.available || entry.vehicle.capacity < minCapacity) continue;
+            if (type != null && !type.isInstance(entry.vehicle)) continue;
+            double distance = distance(entry.x, entry.y, x, y);
+            if (best.size() < k) {
+                best.add(new Match(entry.vehicle, distance));
+            } else if (distance < best.peek().distance) {
+                best.poll();
+                best.add(new Match(entry.vehicle, distance));
+            }
+        }
+    }
+
+    private Entry entry(EXER3A_Transportation vehicle) {
+        Entry entry = entries.get(vehicle);
+        if (entry == null) throw new IllegalArgumentException("Vehicle has no position yet: " + vehicle.name);
+        return entry;
+    }
+
+    private Cell cellAt(int cx, int cy) {
+        Cell cell = cells.get(key(cx, cy));
+        if (cell == null) {
+            cell = new Cell();
+            cells.put(key(cx, cy), cell);
+            minCx = Math.min(minCx, cx);
+            maxCx = Math.max(maxCx, cx);
+            minCy = Math.min(minCy, cy);
+            maxCy = Math.max(maxCy, cy);
+        }
+        return cell;
+    }
+
+    private static double distance(double x1, double y1, double x2, double y2) {
+        double dx = x1 - x2, dy = y1 - y2;
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
+    private int cellX(double x) { return (int) Math.floor(x / cellSize); }
+    private int cellY(double y) { return (int) Math.floor(y / cellSize); }
+
+    private static long key(int cx, int cy) {
+        return ((long) cx << 32) | (cy & 0xFFFFFFFFL);
+    }
+
+    // Benchmark: a 20 km x 20 km area with 20,000 vehicles moving around, checked
+    // against a full scan, then timed for position updates and queries
+    public static void main(String[] args) {
+        int fleetSize = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        double area = 20_000;
+        Random random = new Random(11);
+        EXER3A_FleetIndex index = new EXER3A_FleetIndex();
+        List<EXER3A_Transportation> fleet = new ArrayList<>();
+        for (int i = 0; i < fleetSize; i++) {
+            EXER3A_Transportation vehicle;
+            switch (i % 4) {
+                case 0: vehicle = new Tricycle("Tricycle " + i, 3 + random.nextInt(4)); break;
+                case 1: vehicle = new SUV("SUV " + i, 5 + random.nextInt(4)); break;
+                case 2: vehicle = new Motorcycle("Motorcycle " + i, 2); break;
+                default: vehicle = new Boat("Boat " + i, 4 + random.nextInt(20)); break;
+            }
+            fleet.add(vehicle);
+            index.updatePosition(vehicle, random.nextDouble() * area, random.nextDouble() * area);
+            index.setAvailable(vehicle, random.nextInt(10) < 7);
+        }
+
+        // Correctness against a full scan
+        for (int q = 0; q < 200; q++) {
+            double x = random.nextDouble() * area, y = random.nextDouble() * area;
+            List<Match> fast = index.nearestAvailable(x, y, 5, Tricycle.class, 5);
+            List<Double> slow = new ArrayList<>();
+            for (EXER3A_Transportation v : fleet) {
+                if (v instanceof Tricycle && v.capacity >= 5 && index.isAvailable(v)) {
+                    slow.add(distance(index.getX(v), index.getY(v), x, y));
+                }
+            }
+            Collections.sort(slow);
+            if (fast.size() != Math.min(5, slow.size())) {
+                throw new AssertionError("Query " + q + " found " + fast.size() + " of " + Math.min(5, slow.size()));
+            }
+            for (int i = 0; i < fast.size(); i++) {
+                if (fast.get(i).getDistance() != slow.get(i)) throw new AssertionError("Query " + q + " differs at " + i);
+            }
+        }
+        System.out.println("200 queries match a full scan");
+
+        // Timed: each vehicle drives a few metres per update
+        int rounds = 2_000_000;
+        long t0 = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            EXER3A_Transportation v = fleet.get(random.nextInt(fleetSize));
+            double x = index.getX(v) + random.nextGaussian() * 20, y = index.getY(v) + random.nextGaussian() * 20;
+            index.updatePosition(v, Math.max(0, Math.min(area, x)), Math.max(0, Math.min(area, y)));
+        }
+        double updateSeconds = (System.nanoTime() - t0) / 1e9;
+
+        int queries = 200_000;
+        long found = 0;
+        t0 = System.nanoTime();
+        for (int i = 0; i < queries; i++) {
+            double x = random.nextDouble() * area, y = random.nextDouble() * area;
+            Class<? extends EXER3A_Transportation> type = i % 2 == 0 ? Tricycle.class : LandTransport.class;
+            found += index.nearestAvailable(x, y, 5, type, 4).size();
+        }
+        double querySeconds = (System.nanoTime() - t0) / 1e9;
+
+        System.out.printf("%,d vehicles: %,.0f position updates/s, %,.0f 5-nearest queries/s (%.1f found on average)%n",
+                fleetSize, rounds / updateSeconds, queries / querySeconds, (double) found / queries);
+    }
+}
@@ -0,0 +1,189 @@
+import java.util.Arrays;
+
+// A block of up to MAX_POINTS telemetry readings of one vehicle, compressed the
+// way Facebook's Gorilla store does it:
+// - timestamps as the change of the interval between readings (delta-of-delta),
+//   so readings every 10 s cost one bit each;
+// - every value as the XOR with the previous value of the same column, storing
+//   only the bits that changed (a repeated value costs one bit).
+// Readings are appended one by one; a full chunk is sealed and trimmed.
+public class EXER3A_TelemetryChunk {
+    public static final int MAX_POINTS = 720; // 2 hours at one reading every 10 s
+    public static final int COLUMNS = 4;      // x, y, speed, load
+
+    private long[] bits = new long[64];
+    private int bitCount;
+    private int count;
+    private long firstTime, lastTime;
+
+    // Encoder state
+    private long previousDelta;
+    private final long[] previousValue = new long[COLUMNS];
+    private final int[] previousLeading = new int[COLUMNS];
+    private final int[] previousTrailing = new int[COLUMNS];
+
+    // Receives decoded readings
+    public interface Visitor {
+        void accept(long time, double x, double y, double speed, double load);
+    }
+
+    public int getCount() { return count; }
+    public long getFirstTime() { return firstTime; }
+    public long getLastTime() { return lastTime; }
+    public boolean isFull() { return count == MAX_POINTS; }
+
+    // Compressed size in bytes (the bit array plus this object's fields)
+    public long getBytes() {
+        return bits.length * 8L + 96;
+    }
+
+    public void append(long time, double[] values) {
+        if (isFull()) throw new IllegalStateException("Chunk is full");
+        if (count == 0) {
+            firstTime = time;
+            writeBits(time, 64);
+            for (int c = 0; c < COLUMNS; c++) {
+                previousValue[c] = Double.doubleToRawLongBits(values[c]);
+                previousLeading[c] = -1;
+                writeBits(previousValue[c], 64);
+            }
+        } else {
+            long delta = time - lastTime;
+            writeDeltaOfDelta(delta - previousDelta);
+            previousDelta = delta;
+            for (int c = 0; c < COLUMNS; c++) writeValue(c, Double.doubleToRawLongBits(values[c]));
+        }
+        lastTime = time;
+        count++;
+    }
+
+    // Drops the spare capacity once no more readings will come
+    public void seal() {
+        bits = Arrays.copyOf(bits, (bitCount + 63) >>> 6);
+    }
+
+    // ---------------- Encoding ----------------
+
+    // '0' for no change, then 7, 9 or 12 bit buckets, else the full 64 bits
+    private void writeDeltaOfDelta(long dod) {
+        if (dod == 0) {
+            writeBits(0, 1);
+        } else if (dod >= -63 && dod <= 64) {
+            writeBits(0b10, 2);
+            writeBits(dod + 63, 7);
+        } else if (dod >= -255 && dod <= 256) {
+            writeBits(0b110, 3);
+            writeBits(dod + 255, 9);
+        } else if (dod >= -2047 && dod <= 2048) {
+            writeBits(0b1110, 4);
+            writeBits(dod + 2047, 12);
+        } else {
+            writeBits(0b1111, 4);
+            writeBits(dod, 64);
+        }
+    }
+
+    // '0' for the same value; '10' + the changed bits if they fit in the previous
+    // window of meaningful bits; '11' + 5 bits leading zeros + 6 bits length + the bits
+    private void writeValue(int column, long value) {
+        long xor = value ^ previousValue[column];
+        previousValue[column] = value;
+        if (xor == 0) {
+            writeBits(0, 1);
+            return;
+        }
+        int leading = Math.min(31, Long.numberOfLeadingZeros(xor));
+        int trailing = Long.numberOfTrailingZeros(xor);
+        int prevLeading = previousLeading[column], prevTrailing = previousTrailing[column];
+        if (prevLeading >= 0 && leading >= prevLeading && trailing >= prevTrailing) {
+            writeBits(0b10, 2);
+            writeBits(xor >>> prevTrailing, 64 - prevLeading - prevTrailing);
+        } else {
+            int significant = 64 - leading - trailing;
+            writeBits(0b11, 2);
+            writeBits(leading, 5);
+            writeBits(significant - 1, 6);
+            writeBits(xor >>> trailing, significant);
+            previousLeading[column] = leading;
+            previousTrailing[column] = trailing;
+        }
+    }
+
+    // Appends the low n bits of value, most significant first
+    private void writeBits(long value, int n) {
+        if (n < 64) value &= (1L << n) - 1;
+        if (bitCount + n > bits.length * 64L) bits = Arrays.copyOf(bits, bits.length * 2);
+        int word = bitCount >>> 6;
+        int free = 64 - (bitCount & 63);
+        if (n <= free) {
+            bits[word] |= value << (free - n);
+        } else {
+            bits[word] |= value >>> (n - free);
+            bits[word + 1] |= value << (64 - (n - free));
+        }
+        bitCount += n;
+    }
+
+    // ---------------- Decoding ----------------
+
+    // Decodes the readings with from <= time < to
+    public void read(long from, long to, Visitor visitor) {
+        if (count == 0 || lastTime < from || firstTime >= to) return;
+        Reader in = new Reader();
+        long time = in.read(64);
+        long delta = 0;
+        long[] value = new long[COLUMNS];
+        int[] leading = new int[COLUMNS], trailing = new int[COLUMNS];
+        for (int c = 0; c < COLUMNS; c++) value[c] = in.read(64);
+        emit(time, value, from, to, visitor);
+
+        for (int i = 1; i < count; i++) {
+            delta += readDeltaOfDelta(in);
+            time += delta;
+            for (int c = 0; c < COLUMNS; c++) {
+                if (in.read(1) == 0) continue;
+                if (in.read(1) == 0) {
+                    value[c] ^= in.read(64 - leading[c] - trailing[c]) << trailing[c];
+                } else {
+                    leading[c] = (int) in.read(5);
+                    int significant = (int) in.read(6) + 1;
+                    trailing[c] = 64 - leading[c] - significant;
+                    value[c] ^= in.read(significant) << trailing[c];
+                }
+            }
+            if (time >= to) return;
+            emit(time, value, from, to, visitor);
+        }
+    }
+
+    private static long readDeltaOfDelta(Reader in) {
+        if (in.read(1) == 0) return 0;
+        if (in.read(1) == 0) return in.read(7) - 63;
+        if (in.read(1) == 0) return in.read(9) - 255;
+        if (in.read(1) == 0) return in.read(12) - 2047;
+        return in.read(64);
+    }
+
+    private static void emit(long time, long[] value, long from, long to, Visitor visitor) {
+        if (time < from || time >= to) return;
+        visitor.accept(time, Double.longBitsToDouble(value[0]), Double.longBitsToDouble(value[1]),
+                Double.longBitsToDouble(value[2]), Double.longBitsToDouble(value[3]));
+    }
+
+    private class Reader {
+        private int position;
+
+        long read(int n) {
+            int word = position >>> 6;
+            int free = 64 - (position & 63);
+            position += n;
+            if (n <= free) {
+                long v = bits[word] >>> (free - n);
+                return n == 64 ? v : v & ((1L << n) - 1);
+            }
+            int rest = n - free;
+            long high = bits[word] & ((1L << free) - 1);
+            return (high << rest) | (bits[word + 1] >>> (64 - rest));
+        }
+    }
+}
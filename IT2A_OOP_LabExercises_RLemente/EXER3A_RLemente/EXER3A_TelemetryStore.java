@@ -0,0 +1,254 @@
+import java.util.*;
+
+// In-memory telemetry of the fleet: position, speed and load of every vehicle over time.
+// Raw readings go into per-vehicle chains of EXER3A_TelemetryChunk (Gorilla-compressed,
+// two hours each). Every reading is also added to a 5-minute rollup of its branch
+// (AirTransport, LandTransport or WaterTransport), so fleet-wide questions over
+// months never touch the raw data, and old raw data can be dropped while the
+// rollups stay.
+//
+// Not thread-safe: readings are meant to be ingested by one thread.
+public class EXER3A_TelemetryStore {
+    public static final long ROLLUP_MILLIS = 5 * 60 * 1000;
+
+    // Summary of one branch over one time bucket
+    public static class Rollup {
+        private final long start;
+        private long readings;
+        private double speedSum, speedMax;
+        private double loadFactorSum, loadFactorMax;
+
+        Rollup(long start) {
+            this.start = start;
+        }
+
+        void add(double speed, double loadFactor) {
+            readings++;
+            speedSum += speed;
+            speedMax = Math.max(speedMax, speed);
+            loadFactorSum += loadFactor;
+            loadFactorMax = Math.max(loadFactorMax, loadFactor);
+        }
+
+        void merge(Rollup other) {
+            readings += other.readings;
+            speedSum += other.speedSum;
+            speedMax = Math.max(speedMax, other.speedMax);
+            loadFactorSum += other.loadFactorSum;
+            loadFactorMax = Math.max(loadFactorMax, other.loadFactorMax);
+        }
+
+        public long getStart() { return start; }
+        public long getReadings() { return readings; }
+        public double getAverageSpeed() { return readings == 0 ? 0 : speedSum / readings; }
+        public double getMaxSpeed() { return speedMax; }
+        // Load as a share of capacity, 0..1
+        public double getAverageLoadFactor() { return readings == 0 ? 0 : loadFactorSum / readings; }
+        public double getMaxLoadFactor() { return loadFactorMax; }
+    }
+
+    // The chunks of one vehicle, oldest first; the last one is still open
+    private static class Series {
+        final List<EXER3A_TelemetryChunk> chunks = new ArrayList<>();
+        EXER3A_TelemetryChunk open;
+        long lastTime = Long.MIN_VALUE;
+    }
+
+    private final Map<EXER3A_Transportation, Series> series = new IdentityHashMap<>();
+    private final Map<Class<?>, TreeMap<Long, Rollup>> rollups = new HashMap<>();
+    private final double[] values = new double[EXER3A_TelemetryChunk.COLUMNS];
+    private long readings;
+
+    // Adds one reading; a vehicle's readings must come in time order
+    public void record(EXER3A_Transportation vehicle, long time, double x, double y, double speed, double load) {
+        Series s = series.computeIfAbsent(vehicle, v -> new Series());
+        if (time < s.lastTime) {
+            throw new IllegalArgumentException("Reading for " + vehicle.name + " is older than the last one");
+        }
+        if (s.open == null || s.open.isFull()) {
+            if (s.open != null) s.open.seal();
+            s.open = new EXER3A_TelemetryChunk();
+            s.chunks.add(s.open);
+        }
+        values[0] = x;
+        values[1] = y;
+        values[2] = speed;
+        values[3] = load;
+        s.open.append(time, values);
+        s.lastTime = time;
+        readings++;
+
+        double loadFactor = vehicle.capacity > 0 ? load / vehicle.capacity : 0;
+        long bucket = Math.floorDiv(time, ROLLUP_MILLIS) * ROLLUP_MILLIS;
+        rollups.computeIfAbsent(branchOf(vehicle), b -> new TreeMap<>())
+               .computeIfAbsent(bucket, Rollup::new)
+               .add(speed, loadFactor);
+    }
+
+    // Raw readings of one vehicle with from <= time < to, oldest first
+    public void scan(EXER3A_Transportation vehicle, long from, long to, EXER3A_TelemetryChunk.Visitor visitor) {
+        Series s = series.get(vehicle);
+        if (s == null) return;
+        // First chunk that ends at or after from
+        int lo = 0, hi = s.chunks.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (s.chunks.get(mid).getLastTime() < from) lo = mid + 1;
+            else hi = mid;
+        }
+        for (int i = lo; i < s.chunks.size(); i++) {
+            EXER3A_TelemetryChunk chunk = s.chunks.get(i);
+            if (chunk.getFirstTime() >= to) break;
+            chunk.read(from, to, visitor);
+        }
+    }
+
+    // Rollups of a branch (AirTransport.class, LandTransport.class or WaterTransport.class)
+    // for from <= time < to, merged into buckets of bucketMillis (a multiple of ROLLUP_MILLIS)
+    public List<Rollup> rollups(Class<? extends EXER3A_Transportation> branch, long from, long to, long bucketMillis) {
+        if (bucketMillis <= 0 || bucketMillis % ROLLUP_MILLIS != 0) {
+            throw new IllegalArgumentException("Bucket must be a multiple of " + ROLLUP_MILLIS + " ms: " + bucketMillis);
+        }
+        List<Rollup> result = new ArrayList<>();
+        TreeMap<Long, Rollup> byBucket = rollups.get(branch);
+        if (byBucket == null) return result;
+        Rollup current = null;
+        for (Rollup rollup : byBucket.subMap(from, true, to, false).values()) {
+            long start = Math.floorDiv(rollup.start, bucketMillis) * bucketMillis;
+            if (current == null || current.start != start) {
+                current = new Rollup(start);
+                result.add(current);
+            }
+            current.merge(rollup);
+        }
+        return result;
+    }
+
+    // Frees raw chunks that end before the given time; rollups are kept
+    public int dropRawBefore(long time) {
+        int dropped = 0;
+        for (Series s : series.values()) {
+            Iterator<EXER3A_TelemetryChunk> it = s.chunks.iterator();
+            while (it.hasNext()) {
+                EXER3A_TelemetryChunk chunk = it.next();
+                if (chunk == s.open || chunk.getLastTime() >= time) break;
+                it.remove();
+                dropped++;
+            }
+        }
+        return dropped;
+    }
+
+    public long getReadings() { return readings; }
+
+    // Bytes held by the raw chunks
+    public long getRawBytes() {
+        long bytes = 0;
+        for (Series s : series.values()) {
+            for (EXER3A_TelemetryChunk chunk : s.chunks) bytes += chunk.getBytes();
+        }
+        return bytes;
+    }
+
+    public int getRollupCount() {
+        int count = 0;
+        for (TreeMap<Long, Rollup> byBucket : rollups.values()) count += byBucket.size();
+        return count;
+    }
+
+    private static Class<?> branchOf(EXER3A_Transportation vehicle) {
+        if (vehicle instanceof AirTransport) return AirTransport.class;
+        if (vehicle instanceof LandTransport) return LandTransport.class;
+        if (vehicle instanceof WaterTransport) return WaterTransport.class;
+        return EXER3A_Transportation.class;
+    }
+
+    // Benchmark: a fleet reporting every 10 s for 30 days (arguments: vehicles, days)
+    public static void main(String[] args) {
+        int fleetSize = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        int days = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+        long interval = 10_000, day = 24L * 60 * 60 * 1000;
+        long start = 1_700_000_000_000L - 1_700_000_000_000L % day;
+        long end = start + days * day;
+
+        Random random = new Random(5);
+        List<EXER3A_Transportation> fleet = new ArrayList<>();
+        for (int i = 0; i < fleetSize; i++) {
+            switch (i % 5) {
+                case 0: fleet.add(new Tricycle("Tricycle " + i, 4)); break;
+                case 1: fleet.add(new SUV("SUV " + i, 7)); break;
+                case 2: fleet.add(new Truck("Truck " + i, 2)); break;
+                case 3: fleet.add(new Boat("Boat " + i, 10)); break;
+                default: fleet.add(new Helicopter("Helicopter " + i, 6)); break;
+            }
+        }
+
+        // Each vehicle drives or parks for a while; positions in whole metres, speed in
+        // steps of 0.5 km/h and load in whole passengers, like the trackers report them
+        EXER3A_TelemetryStore store = new EXER3A_TelemetryStore();
+        double[] x = new double[fleetSize], y = new double[fleetSize], speed = new double[fleetSize];
+        int[] load = new int[fleetSize];
+        List<long[]> checkTimes = new ArrayList<>();
+        List<double[]> checkValues = new ArrayList<>();
+        long t0 = System.nanoTime();
+        for (long t = start; t < end; t += interval) {
+            for (int v = 0; v < fleetSize; v++) {
+                EXER3A_Transportation vehicle = fleet.get(v);
+                if (random.nextInt(60) == 0) speed[v] = random.nextInt(3) == 0 ? 0 : 10 + random.nextInt(100) * 0.5;
+                if (random.nextInt(30) == 0) load[v] = random.nextInt(vehicle.capacity + 1);
+                double heading = (v * 0.7 + t / 600_000.0) % (2 * Math.PI);
+                x[v] = Math.rint(x[v] + Math.cos(heading) * speed[v] / 3.6 * interval / 1000);
+                y[v] = Math.rint(y[v] + Math.sin(heading) * speed[v] / 3.6 * interval / 1000);
+                long jitter = random.nextInt(20) == 0 ? random.nextInt(1000) : 0; // a late reading now and then
+                store.record(vehicle, t + jitter, x[v], y[v], speed[v], load[v]);
+                if (v == 0) {
+                    checkTimes.add(new long[] {t + jitter});
+                    checkValues.add(new double[] {x[v], y[v], speed[v], load[v]});
+                }
+            }
+        }
+        double ingestSeconds = (System.nanoTime() - t0) / 1e9;
+
+        // Everything of vehicle 0 must come back exactly
+        int[] seen = {0};
+        store.scan(fleet.get(0), start, end, (time, px, py, sp, ld) -> {
+            int i = seen[0]++;
+            double[] expected = checkValues.get(i);
+            if (time != checkTimes.get(i)[0] || px != expected[0] || py != expected[1] || sp != expected[2] || ld != expected[3]) {
+                throw new AssertionError("Reading " + i + " of vehicle 0 differs");
+            }
+        });
+        if (seen[0] != checkTimes.size()) throw new AssertionError("Vehicle 0 lost readings");
+
+        long raw = store.getReadings() * 40; // a long and four doubles per reading
+        System.out.printf("%,d readings of %d vehicles over %d days ingested at %,.0f readings/s%n",
+                store.getReadings(), fleetSize, days, store.getReadings() / ingestSeconds);
+        System.out.printf("Raw chunks: %,d bytes (%.2f bytes per reading, %.1fx smaller than %,d uncompressed), %,d rollups%n",
+                store.getRawBytes(), (double) store.getRawBytes() / store.getReadings(),
+                (double) raw / store.getRawBytes(), raw, store.getRollupCount());
+
+        // One vehicle, one day
+        long[] count = {0};
+        t0 = System.nanoTime();
+        store.scan(fleet.get(1), start + 10 * day, start + 11 * day, (time, px, py, sp, ld) -> count[0]++);
+        System.out.printf("Scan of one vehicle over one day: %,d readings in %.2f ms%n", count[0], (System.nanoTime() - t0) / 1e6);
+
+        // Whole fleet, whole range: decode everything
+        count[0] = 0;
+        t0 = System.nanoTime();
+        for (EXER3A_Transportation vehicle : fleet) store.scan(vehicle, start, end, (time, px, py, sp, ld) -> count[0]++);
+        double scanSeconds = (System.nanoTime() - t0) / 1e9;
+        System.out.printf("Full scan: %,d readings in %.2f s (%,.0f readings/s)%n", count[0], scanSeconds, count[0] / scanSeconds);
+
+        // Daily branch averages from the rollups
+        t0 = System.nanoTime();
+        List<Rollup> daily = store.rollups(LandTransport.class, start, end, day);
+        double rollupMillis = (System.nanoTime() - t0) / 1e6;
+        Rollup first = daily.get(0);
+        System.out.printf("Land transport, %d daily rollups in %.2f ms; day 1: avg speed %.1f km/h, avg load %.0f%%%n",
+                daily.size(), rollupMillis, first.getAverageSpeed(), first.getAverageLoadFactor() * 100);
+
+        int dropped = store.dropRawBefore(end - 7 * day);
+        System.out.printf("Kept one week of raw data: dropped %,d chunks, %,d bytes left%n", dropped, store.getRawBytes());
+    }
+}
@@ -49,6 +49,24 @@ public class EXER3A_TransportationTester {
 
         boat.displayInfo();
         sub.displayInfo();
-        
+
+        // ----- Nearest Free Vehicle -----
+        System.out.println();
+        EXER3A_FleetIndex fleet = new EXER3A_FleetIndex();
+        fleet.updatePosition(trike, 1200, 800);
+        fleet.updatePosition(suv, 300, 400);
+        fleet.updatePosition(motor, 150, 100);
+        fleet.updatePosition(boat, 2500, 50);
+        Tricycle trike2 = new Tricycle("Tricycle Unit 2", 5);
+        fleet.updatePosition(trike2, 600, 900);
+        fleet.setAvailable(trike2, false); // already carrying passengers
+
+        System.out.println("Nearest free land vehicles for 4 passengers at (0, 0):");
+        for (EXER3A_FleetIndex.Match match : fleet.nearestAvailable(0, 0, 3, LandTransport.class, 4)) {
+            System.out.println("  " + match);
+        }
+        fleet.setAvailable(trike2, true);
+        System.out.println("Nearest free tricycle after Tricycle Unit 2 drops off:");
+        System.out.println("  " + fleet.nearestAvailable(0, 0, 1, Tricycle.class, 1).get(0));
     }
 }
\ No newline at end of file
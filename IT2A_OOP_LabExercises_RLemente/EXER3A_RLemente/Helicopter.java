@@ -0,0 +1,6 @@
+// Air transport
+class Helicopter extends AirTransport {
+    public Helicopter(String name, int capacity) {
+        super(name, capacity);
+    }
+}
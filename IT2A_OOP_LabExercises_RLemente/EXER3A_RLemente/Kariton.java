@@ -0,0 +1,6 @@
+// Land transport
+class Kariton extends LandTransport {
+    public Kariton(String name, int capacity) {
+        super(name, capacity);
+    }
+}
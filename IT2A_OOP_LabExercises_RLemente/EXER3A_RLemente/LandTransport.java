@@ -0,0 +1,6 @@
+// Land transport branch of EXER3A_Transportation
+class LandTransport extends EXER3A_Transportation {
+    public LandTransport(String name, int capacity) {
+        super(name, capacity);
+    }
+}
@@ -0,0 +1,6 @@
+// Land transport
+class Motorcycle extends LandTransport {
+    public Motorcycle(String name, int capacity) {
+        super(name, capacity);
+    }
+}
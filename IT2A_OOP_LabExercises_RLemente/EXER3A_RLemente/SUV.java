@@ -0,0 +1,6 @@
+// Land transport
+class SUV extends LandTransport {
+    public SUV(String name, int capacity) {
+        super(name, capacity);
+    }
+}
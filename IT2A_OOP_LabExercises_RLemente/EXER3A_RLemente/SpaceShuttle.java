@@ -0,0 +1,6 @@
+// Air transport
+class SpaceShuttle extends AirTransport {
+    public SpaceShuttle(String name, int capacity) {
+        super(name, capacity);
+    }
+}
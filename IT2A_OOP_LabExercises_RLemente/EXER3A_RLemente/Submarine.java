@@ -0,0 +1,6 @@
+// Water transport
+class Submarine extends WaterTransport {
+    public Submarine(String name, int capacity) {
+        super(name, capacity);
+    }
+}
@@ -0,0 +1,6 @@
+// Land transport
+class Tricycle extends LandTransport {
+    public Tricycle(String name, int capacity) {
+        super(name, capacity);
+    }
+}
@@ -0,0 +1,6 @@
+// Land transport
+class Truck extends LandTransport {
+    public Truck(String name, int capacity) {
+        super(name, capacity);
+    }
+}
@@ -0,0 +1,6 @@
+// Water transport branch of EXER3A_Transportation
+class WaterTransport extends EXER3A_Transportation {
+    public WaterTransport(String name, int capacity) {
+        super(name, capacity);
+    }
+}
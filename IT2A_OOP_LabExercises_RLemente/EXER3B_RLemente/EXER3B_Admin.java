@@ -5,9 +5,11 @@ public class EXER3B_Admin extends EXER3B_User {
 
     public void makeAnnouncement(String content) {
         System.out.println("Admin " + getName() + " posted announcement: " + content);
+        EXER3B_AuditLog.record(EXER3B_AuditEvent.Action.MAKE_ANNOUNCEMENT, getUsername(), content, null);
     }
 
     public void updateComplaint(String complaint, String newStatus) {
         System.out.println("Admin " + getName() + " updated complaint '" + complaint + "' to status: " + newStatus);
+        EXER3B_AuditLog.record(EXER3B_AuditEvent.Action.UPDATE_COMPLAINT, getUsername(), complaint, newStatus);
     }
 }
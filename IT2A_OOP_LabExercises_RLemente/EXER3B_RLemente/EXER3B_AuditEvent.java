@@ -0,0 +1,89 @@
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+// One fixed-size audit record (128 bytes on disk)
+public class EXER3B_AuditEvent {
+    public enum Action {
+        LOGIN, REGISTER, SUBMIT_COMPLAINT, UPDATE_COMPLAINT, MAKE_ANNOUNCEMENT, REACT_ANNOUNCEMENT, SET_NAME,
+        LOGIN_FAILED, LOGIN_THROTTLED
+    }
+
+    public static final int RECORD_SIZE = 128;
+    private static final int USERNAME_BYTES = 32;
+    private static final int SUBJECT_BYTES = 48;
+    private static final int VALUE_BYTES = 32;
+    private static final Action[] ACTIONS = Action.values();
+
+    private final long timestamp;
+    private final Action action;
+    private final String username;
+    private final String subject;
+    private final String value;
+
+    public EXER3B_AuditEvent(long timestamp, Action action, String username, String subject, String value) {
+        this.timestamp = timestamp;
+        this.action = action;
+        this.username = username;
+        this.subject = subject;
+        this.value = value;
+    }
+
+    public long getTimestamp() { return timestamp; }
+    public Action getAction() { return action; }
+    public String getUsername() { return username; }
+    public String getSubject() { return subject; }
+    public String getValue() { return value; }
+
+    // Layout: timestamp(8) action(1) pad(1) username(2+32) subject(2+48) value(2+32)
+    static void encode(ByteBuffer out, long timestamp, int action, String username, String subject, String value) {
+        out.putLong(timestamp);
+        out.put((byte) action);
+        out.put((byte) 0);
+        putField(out, username, USERNAME_BYTES);
+        putField(out, subject, SUBJECT_BYTES);
+        putField(out, value, VALUE_BYTES);
+    }
+
+    static EXER3B_AuditEvent decode(ByteBuffer in) {
+        long timestamp = in.getLong();
+        int action = in.get();
+        in.get();
+        String username = getField(in, USERNAME_BYTES);
+        String subject = getField(in, SUBJECT_BYTES);
+        String value = getField(in, VALUE_BYTES);
+        Action decoded = (action >= 0 && action < ACTIONS.length) ? ACTIONS[action] : null;
+        return new EXER3B_AuditEvent(timestamp, decoded, username, subject, value);
+    }
+
+    // Strings longer than the field are truncated
+    private static void putField(ByteBuffer out, String text, int size) {
+        byte[] bytes = (text == null) ? new byte[0] : text.getBytes(StandardCharsets.UTF_8);
+        int length = Math.min(bytes.length, size);
+        out.putShort((short) length);
+        out.put(bytes, 0, length);
+        for (int i = length; i < size; i++) {
+            out.put((byte) 0);
+        }
+    }
+
+    private static String getField(ByteBuffer in, int size) {
+        int length = Math.min(in.getShort(), size);
+        byte[] bytes = new byte[size];
+        in.get(bytes);
+        return new String(bytes, 0, Math.max(length, 0), StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(Instant.ofEpochMilli(timestamp)).append(' ').append(action).append(' ').append(username);
+        if (!subject.isEmpty()) {
+            sb.append(" '").append(subject).append('\'');
+        }
+        if (!value.isEmpty()) {
+            sb.append(" -> ").append(value);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,228 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+// Audit trail for user actions.
+// Callers only copy references into a lock-free ring buffer; a background
+// writer thread encodes them in batches into rotating binary log files.
+public class EXER3B_AuditLog implements AutoCloseable {
+    public static final String FILE_PREFIX = "audit-";
+    public static final String FILE_SUFFIX = ".log";
+
+    private static final int DEFAULT_CAPACITY = 8192;
+    private static final long DEFAULT_MAX_FILE_BYTES = 4L * 1024 * 1024;
+    private static final int DEFAULT_MAX_FILES = 8;
+    private static final int BATCH_SIZE = 256;
+    private static final long IDLE_PARK_NANOS = 1_000_000L;
+
+    private static volatile EXER3B_AuditLog active;
+
+    // --- Ring buffer (one slot per event, reused) ---
+    private final int mask;
+    private final long[] timestamps;
+    private final int[] actions;
+    private final String[] usernames;
+    private final String[] subjects;
+    private final String[] values;
+    private final AtomicLongArray published;
+    private final AtomicLong claimed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile long consumed = 0;
+
+    // --- Writer ---
+    private final Path directory;
+    private final long maxFileBytes;
+    private final int maxFiles;
+    private final ByteBuffer batch = ByteBuffer.allocateDirect(BATCH_SIZE * EXER3B_AuditEvent.RECORD_SIZE);
+    private final Thread writer;
+    private volatile boolean running = true;
+    private FileChannel channel;
+    private int fileIndex = 0;
+    private IOException failure;
+
+    public EXER3B_AuditLog(Path directory, int capacity, long maxFileBytes, int maxFiles) throws IOException {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        if (maxFileBytes < EXER3B_AuditEvent.RECORD_SIZE || maxFiles < 1) {
+            throw new IllegalArgumentException("Invalid rotation settings");
+        }
+        this.mask = capacity - 1;
+        this.timestamps = new long[capacity];
+        this.actions = new int[capacity];
+        this.usernames = new String[capacity];
+        this.subjects = new String[capacity];
+        this.values = new String[capacity];
+        this.published = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            published.set(i, -1);
+        }
+
+        this.directory = directory;
+        this.maxFileBytes = maxFileBytes;
+        this.maxFiles = maxFiles;
+        Files.createDirectories(directory);
+        this.fileIndex = nextFileIndex(directory);
+        openNextFile();
+
+        this.writer = new Thread(this::writeLoop, "audit-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    // Starts the shared audit log used by record(...)
+    public static synchronized EXER3B_AuditLog start(Path directory) throws IOException {
+        if (active == null) {
+            active = new EXER3B_AuditLog(directory, DEFAULT_CAPACITY, DEFAULT_MAX_FILE_BYTES, DEFAULT_MAX_FILES);
+        }
+        return active;
+    }
+
+    // Records an action on the shared log; does nothing if auditing was not started
+    public static void record(EXER3B_AuditEvent.Action action, String username, String subject, String value) {
+        EXER3B_AuditLog log = active;
+        if (log != null) {
+            log.publish(action, username, subject, value);
+        }
+    }
+
+    // Never blocks: if the buffer is full the event is counted as dropped
+    public boolean publish(EXER3B_AuditEvent.Action action, String username, String subject, String value) {
+        // Everything that can fail happens before the claim: a claimed slot must always be published
+        if (action == null) {
+            throw new IllegalArgumentException("Audit action is required");
+        }
+        int ordinal = action.ordinal();
+        long timestamp = System.currentTimeMillis();
+
+        long seq;
+        do {
+            seq = claimed.get();
+            if (seq - consumed > mask) {
+                dropped.incrementAndGet();
+                return false;
+            }
+        } while (!claimed.compareAndSet(seq, seq + 1));
+
+        int slot = (int) (seq & mask);
+        timestamps[slot] = timestamp;
+        actions[slot] = ordinal;
+        usernames[slot] = username;
+        subjects[slot] = subject;
+        values[slot] = value;
+        published.lazySet(slot, seq);
+        return true;
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    private void writeLoop() {
+        while (running || consumed < claimed.get()) {
+            int count = drainBatch();
+            if (count == 0) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    private int drainBatch() {
+        long seq = consumed;
+        int count = 0;
+        batch.clear();
+        while (count < BATCH_SIZE) {
+            int slot = (int) (seq & mask);
+            if (published.get(slot) != seq) {
+                break;
+            }
+            EXER3B_AuditEvent.encode(batch, timestamps[slot], actions[slot], usernames[slot], subjects[slot], values[slot]);
+            usernames[slot] = null;
+            subjects[slot] = null;
+            values[slot] = null;
+            seq++;
+            count++;
+        }
+        if (count > 0) {
+            consumed = seq;
+            batch.flip();
+            writeToFile();
+        }
+        return count;
+    }
+
+    private void writeToFile() {
+        if (failure != null) {
+            return;
+        }
+        try {
+            if (channel.size() + batch.remaining() > maxFileBytes) {
+                openNextFile();
+            }
+            while (batch.hasRemaining()) {
+                channel.write(batch);
+            }
+        } catch (IOException e) {
+            failure = e;
+            System.err.println("Audit log disabled: " + e.getMessage());
+        }
+    }
+
+    private void openNextFile() throws IOException {
+        if (channel != null) {
+            channel.close();
+            fileIndex++;
+        }
+        // Keep only the newest maxFiles files
+        if (fileIndex >= maxFiles) {
+            Files.deleteIfExists(fileFor(fileIndex - maxFiles));
+        }
+        channel = FileChannel.open(fileFor(fileIndex),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    private Path fileFor(int index) {
+        return directory.resolve(String.format("%s%05d%s", FILE_PREFIX, index, FILE_SUFFIX));
+    }
+
+    // Continues numbering after files left by an earlier run
+    private static int nextFileIndex(Path directory) throws IOException {
+        int next = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, FILE_PREFIX + "*" + FILE_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                String number = name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length());
+                try {
+                    next = Math.max(next, Integer.parseInt(number) + 1);
+                } catch (NumberFormatException ignored) {
+                    // not one of ours
+                }
+            }
+        }
+        return next;
+    }
+
+    // Flushes everything still in the buffer and closes the current file
+    @Override
+    public void close() throws IOException {
+        synchronized (EXER3B_AuditLog.class) {
+            if (active == this) {
+                active = null;
+            }
+        }
+        running = false;
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
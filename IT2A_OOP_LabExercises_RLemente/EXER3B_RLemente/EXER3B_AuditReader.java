@@ -0,0 +1,47 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.*;
+import java.util.*;
+
+// Reads the binary audit files written by EXER3B_AuditLog.
+// Usage: java EXER3B_AuditReader [directory] [username]
+public class EXER3B_AuditReader {
+    public static void main(String[] args) throws IOException {
+        Path directory = Paths.get(args.length > 0 ? args[0] : "audit");
+        String username = args.length > 1 ? args[1] : null;
+
+        for (EXER3B_AuditEvent event : readAll(directory)) {
+            if (username == null || username.equals(event.getUsername())) {
+                System.out.println(event);
+            }
+        }
+    }
+
+    // Returns every event in the directory, oldest file first
+    public static List<EXER3B_AuditEvent> readAll(Path directory) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory,
+                EXER3B_AuditLog.FILE_PREFIX + "*" + EXER3B_AuditLog.FILE_SUFFIX)) {
+            for (Path file : stream) {
+                files.add(file);
+            }
+        }
+        Collections.sort(files);
+
+        List<EXER3B_AuditEvent> events = new ArrayList<>();
+        for (Path file : files) {
+            events.addAll(read(file));
+        }
+        return events;
+    }
+
+    public static List<EXER3B_AuditEvent> read(Path file) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        List<EXER3B_AuditEvent> events = new ArrayList<>();
+        // A partly written last record is ignored
+        while (buffer.remaining() >= EXER3B_AuditEvent.RECORD_SIZE) {
+            events.add(EXER3B_AuditEvent.decode(buffer));
+        }
+        return events;
+    }
+}
@@ -0,0 +1,105 @@
+import java.util.Arrays;
+
+// Per-username and per-source login throttling.
+// Attempts are counted in a count-min sketch (fixed memory no matter how many
+// usernames or sources show up) using a sliding window built from the current
+// and previous fixed windows.
+public class EXER3B_LoginRateLimiter {
+    private static final int DEPTH = 4;
+    private static final int[] SEEDS = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F};
+
+    private final int width;
+    private final int userLimit;
+    private final int sourceLimit;
+    private final long windowMillis;
+
+    private int[][] current;
+    private int[][] previous;
+    private long windowStart;
+
+    public EXER3B_LoginRateLimiter(int userLimit, int sourceLimit, long windowMillis, int width) {
+        if (userLimit <= 0 || sourceLimit <= 0 || windowMillis <= 0 || width <= 0) {
+            throw new IllegalArgumentException("Limits, window and width must be positive");
+        }
+        this.width = width;
+        this.userLimit = userLimit;
+        this.sourceLimit = sourceLimit;
+        this.windowMillis = windowMillis;
+        this.current = new int[DEPTH][width];
+        this.previous = new int[DEPTH][width];
+        this.windowStart = -1;
+    }
+
+    public boolean tryAcquire(String username, String source) {
+        return tryAcquire(username, source, System.currentTimeMillis());
+    }
+
+    // Returns false if either key is over its limit; every attempt is counted
+    public synchronized boolean tryAcquire(String username, String source, long now) {
+        roll(now);
+        double weight = 1.0 - (double) (now - windowStart) / windowMillis;
+
+        String userKey = "u:" + username;
+        String sourceKey = "s:" + source;
+        boolean allowed = estimate(userKey, weight) < userLimit
+                && (source == null || estimate(sourceKey, weight) < sourceLimit);
+
+        add(userKey);
+        if (source != null) {
+            add(sourceKey);
+        }
+        return allowed;
+    }
+
+    // Move to a new window when the current one has ended
+    private void roll(long now) {
+        if (windowStart < 0) {
+            windowStart = now - (now % windowMillis);
+            return;
+        }
+        long elapsed = now - windowStart;
+        if (elapsed < windowMillis) {
+            return;
+        }
+        int[][] cleared = previous;
+        for (int[] row : cleared) {
+            Arrays.fill(row, 0);
+        }
+        if (elapsed < 2 * windowMillis) {
+            previous = current;
+        } else {
+            // Idle for more than a full window: nothing carries over
+            for (int[] row : current) {
+                Arrays.fill(row, 0);
+            }
+            previous = current;
+        }
+        current = cleared;
+        windowStart = now - (now % windowMillis);
+    }
+
+    private double estimate(String key, double previousWeight) {
+        double min = Double.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            int column = column(key, row);
+            double count = current[row][column] + previous[row][column] * previousWeight;
+            min = Math.min(min, count);
+        }
+        return min;
+    }
+
+    private void add(String key) {
+        for (int row = 0; row < DEPTH; row++) {
+            int column = column(key, row);
+            if (current[row][column] < Integer.MAX_VALUE) {
+                current[row][column]++;
+            }
+        }
+    }
+
+    private int column(String key, int row) {
+        int h = key.hashCode() * SEEDS[row];
+        h ^= h >>> 16;
+        return (h & 0x7FFFFFFF) % width;
+    }
+}
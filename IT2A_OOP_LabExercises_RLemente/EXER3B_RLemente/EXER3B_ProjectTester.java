@@ -1,5 +1,13 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
 public class EXER3B_ProjectTester {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
+        // Audit every user action into ./audit
+        Path auditDir = Paths.get("audit");
+        EXER3B_AuditLog audit = EXER3B_AuditLog.start(auditDir);
+
         EXER3B_Admin admin = new EXER3B_Admin("Kap. Reyes", "kapreyes", "12345");
         EXER3B_Resident resident = new EXER3B_Resident("Juan Dela Cruz", "juanDC", "67890");
 
@@ -26,5 +34,19 @@ public class EXER3B_ProjectTester {
 
         System.out.println();
         resident.reactToAnnouncement(announcement, "Will join!");
+
+        // Repeated bad passwords get throttled before the password is checked
+        System.out.println();
+        for (int i = 0; i < 7; i++) {
+            resident.login("wrong" + i, "192.168.1.50");
+        }
+
+        // Flush the audit trail and read it back
+        audit.close();
+        System.out.println();
+        System.out.println("=== Audit Trail ===");
+        for (EXER3B_AuditEvent event : EXER3B_AuditReader.readAll(auditDir)) {
+            System.out.println(event);
+        }
     }
 }
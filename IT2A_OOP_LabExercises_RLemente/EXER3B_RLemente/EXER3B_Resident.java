@@ -6,14 +6,17 @@ public class EXER3B_Resident extends EXER3B_User {
 
     public void register() {
         System.out.println(getName() + " has been registered as a resident.");
+        EXER3B_AuditLog.record(EXER3B_AuditEvent.Action.REGISTER, getUsername(), null, null);
     }
 
     public String submitComplaint(String description) {
         System.out.println(getName() + " submitted a complaint: " + description);
+        EXER3B_AuditLog.record(EXER3B_AuditEvent.Action.SUBMIT_COMPLAINT, getUsername(), description, null);
         return description;
     }
 
     public void reactToAnnouncement(String announcement, String reaction) {
         System.out.println(getName() + " reacted to announcement '" + announcement + "': " + reaction);
+        EXER3B_AuditLog.record(EXER3B_AuditEvent.Action.REACT_ANNOUNCEMENT, getUsername(), announcement, reaction);
     }
 }
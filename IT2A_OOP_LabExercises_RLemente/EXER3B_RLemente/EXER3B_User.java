@@ -1,4 +1,11 @@
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
 public class EXER3B_User {
+    // 5 attempts per username and 20 per source address per minute
+    private static final EXER3B_LoginRateLimiter LOGIN_LIMITER =
+            new EXER3B_LoginRateLimiter(5, 20, 60_000L, 4096);
+
     private String name;
     private String username;
     private String password;
@@ -11,6 +18,31 @@ public class EXER3B_User {
 
     public void login() {
         System.out.println(name + " logged in successfully!");
+        EXER3B_AuditLog.record(EXER3B_AuditEvent.Action.LOGIN, username, null, null);
+    }
+
+    // Checks the rate limit first so throttled attempts never reach password verification
+    public boolean login(String attemptedPassword, String source) {
+        if (!LOGIN_LIMITER.tryAcquire(username, source)) {
+            System.out.println("Too many login attempts for " + username + ". Please try again later.");
+            EXER3B_AuditLog.record(EXER3B_AuditEvent.Action.LOGIN_THROTTLED, username, source, null);
+            return false;
+        }
+        if (!verifyPassword(attemptedPassword)) {
+            System.out.println("Invalid username or password.");
+            EXER3B_AuditLog.record(EXER3B_AuditEvent.Action.LOGIN_FAILED, username, source, null);
+            return false;
+        }
+        login();
+        return true;
+    }
+
+    private boolean verifyPassword(String attemptedPassword) {
+        if (attemptedPassword == null || password == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(attemptedPassword.getBytes(StandardCharsets.UTF_8),
+                password.getBytes(StandardCharsets.UTF_8));
     }
 
     public void showHome() {
@@ -30,6 +62,7 @@ public class EXER3B_User {
     }
 
     public void setName(String name) {
+        EXER3B_AuditLog.record(EXER3B_AuditEvent.Action.SET_NAME, username, this.name, name);
         this.name = name;
     }
 
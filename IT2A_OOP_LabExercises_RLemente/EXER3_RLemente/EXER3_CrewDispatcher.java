@@ -0,0 +1,186 @@
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.concurrent.locks.LockSupport;
+
+// Assigns service requests to crews.
+// Every crew has a home category (Garbage, Water, Streetlight) and its own deque.
+// A new request goes to the shortest deque of its category. A crew works its own
+// deque oldest first; when it is empty the crew steals from another crew's deque,
+// picking the waiting request with the highest priority, which is how long it has
+// waited times the weight of its category (no water outranks garbage).
+public class EXER3_CrewDispatcher {
+    private static final long IDLE_PARK_NANOS = 200_000;
+
+    // A request waiting in a deque
+    public static class Job {
+        private final EXER3_ServiceRequest request;
+        private final long submittedAt;
+        private long startedAt;
+
+        Job(EXER3_ServiceRequest request, long submittedAt) {
+            this.request = request;
+            this.submittedAt = submittedAt;
+        }
+
+        public EXER3_ServiceRequest getRequest() { return request; }
+        public long getWaitNanos() { return startedAt - submittedAt; }
+    }
+
+    // What a crew does with a request (the simulation just sleeps)
+    public interface Work {
+        void perform(Crew crew, EXER3_ServiceRequest request) throws InterruptedException;
+    }
+
+    public class Crew {
+        private final String name;
+        private final String category;
+        private final ConcurrentLinkedDeque<Job> queue = new ConcurrentLinkedDeque<>();
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicLong completed = new AtomicLong();
+        private final AtomicLong stolen = new AtomicLong();
+
+        Crew(String name, String category) {
+            this.name = name;
+            this.category = category;
+        }
+
+        public String getName() { return name; }
+        public String getCategory() { return category; }
+        public int getQueued() { return queued.get(); }
+        public long getCompleted() { return completed.get(); }
+        public long getStolen() { return stolen.get(); }
+
+        // Oldest job of this crew's own deque first, otherwise a stolen one
+        Job next() {
+            Job job = queue.pollFirst();
+            if (job != null) {
+                queued.decrementAndGet();
+                return job;
+            }
+            return stealing ? steal(this) : null;
+        }
+    }
+
+    private final List<Crew> crews = new ArrayList<>();
+    private final Map<String, List<Crew>> crewsByCategory = new HashMap<>();
+    private final Map<String, Double> categoryWeights = new HashMap<>();
+    private final boolean stealing;
+    private final List<Long> waitNanos = Collections.synchronizedList(new ArrayList<>());
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    public EXER3_CrewDispatcher(boolean stealing) {
+        this.stealing = stealing;
+    }
+
+    public Crew addCrew(String name, String category, double categoryWeight) {
+        Crew crew = new Crew(name, category);
+        crews.add(crew);
+        crewsByCategory.computeIfAbsent(key(category), k -> new ArrayList<>()).add(crew);
+        categoryWeights.put(key(category), categoryWeight);
+        return crew;
+    }
+
+    public List<Crew> getCrews() { return crews; }
+
+    // Queues a request on the shortest deque of its category (any crew if the category has none)
+    public void submit(EXER3_ServiceRequest request) {
+        List<Crew> candidates = crewsByCategory.getOrDefault(key(request.getCategory()), crews);
+        Crew target = candidates.get(0);
+        for (Crew crew : candidates) {
+            if (crew.getQueued() < target.getQueued()) target = crew;
+        }
+        // Counted before it is visible, so a thief's decrement can never come first
+        target.queued.incrementAndGet();
+        target.queue.addLast(new Job(request, System.nanoTime()));
+    }
+
+    // The waiting job with the highest age x category weight among the other crews' oldest jobs
+    private Job steal(Crew thief) {
+        long now = System.nanoTime();
+        Crew victim = null;
+        double best = 0;
+        for (Crew crew : crews) {
+            if (crew == thief) continue;
+            Job oldest = crew.queue.peekFirst();
+            if (oldest == null) continue;
+            double priority = (now - oldest.submittedAt) * categoryWeights.getOrDefault(key(oldest.request.getCategory()), 1.0);
+            if (priority > best) {
+                best = priority;
+                victim = crew;
+            }
+        }
+        if (victim == null) return null;
+        Job job = victim.queue.pollFirst(); // may lose the race to the owner; then try again next time
+        if (job == null) return null;
+        victim.queued.decrementAndGet();
+        thief.stolen.incrementAndGet();
+        return job;
+    }
+
+    // Starts one thread per crew
+    public void start(Work work) {
+        running = true;
+        for (Crew crew : crews) {
+            Thread thread = new Thread(() -> runCrew(crew, work), "crew-" + crew.name);
+            thread.setDaemon(true);
+            workers.add(thread);
+            thread.start();
+        }
+    }
+
+    private void runCrew(Crew crew, Work work) {
+        while (running) {
+            Job job = crew.next();
+            if (job == null) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+                continue;
+            }
+            job.startedAt = System.nanoTime();
+            waitNanos.add(job.getWaitNanos());
+            job.request.setStatus("In Progress");
+            try {
+                work.perform(crew, job.request);
+            } catch (InterruptedException e) {
+                // Stopped mid-job: the request goes back to the front of the deque, unstarted
+                job.request.setStatus("Pending");
+                crew.queued.incrementAndGet();
+                crew.queue.addFirst(job);
+                return;
+            }
+            job.request.setStatus("Resolved");
+            crew.completed.incrementAndGet();
+        }
+    }
+
+    // Stops the crews; requests still queued stay "Pending", and a request a crew
+    // was working on is put back at the front of its deque as "Pending"
+    public void stop() throws InterruptedException {
+        running = false;
+        for (Thread thread : workers) {
+            thread.interrupt();
+            thread.join();
+        }
+        workers.clear();
+    }
+
+    public int getQueued() {
+        int total = 0;
+        for (Crew crew : crews) total += crew.getQueued();
+        return total;
+    }
+
+    // Queue wait of every started request, in nanoseconds
+    public long[] getWaits() {
+        synchronized (waitNanos) {
+            long[] waits = new long[waitNanos.size()];
+            for (int i = 0; i < waits.length; i++) waits[i] = waitNanos.get(i);
+            return waits;
+        }
+    }
+
+    private static String key(String category) {
+        return category.toLowerCase();
+    }
+}
@@ -0,0 +1,137 @@
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.LockSupport;
+
+// Bursty-load simulation for EXER3_CrewDispatcher, run without and with work stealing.
+// Time is scaled down: one millisecond stands for one minute of crew work.
+// Requests arrive at a steady base rate, and every second one category gets a
+// burst (a storm knocks out streetlights, a pipe breaks, ...). Both runs replay
+// the same arrival schedule and report queue wait and throughput.
+public class EXER3_DispatchSimulation {
+    private static final String[] CATEGORIES = {"Garbage", "Water", "Streetlight"};
+    private static final double[] WEIGHTS = {1.0, 3.0, 2.0};          // priority per category
+    private static final int[] CREWS = {2, 2, 1};                      // crews per category
+    private static final double[] SERVICE_MILLIS = {8, 12, 10};        // mean work per request
+    private static final double[] BASE_SHARE = {0.40, 0.35, 0.25};
+
+    private static final double BASE_RATE_PER_SECOND = 250;
+    private static final double BURST_RATE_PER_SECOND = 800;
+    private static final long BURST_MILLIS = 300;
+
+    // One planned arrival
+    private static class Arrival {
+        final long atNanos;
+        final int category;
+        final double serviceMillis;
+
+        Arrival(long atNanos, int category, double serviceMillis) {
+            this.atNanos = atNanos;
+            this.category = category;
+            this.serviceMillis = serviceMillis;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int seconds = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        List<Arrival> schedule = schedule(seconds, new Random(7));
+        System.out.println(schedule.size() + " requests over " + seconds + " s, a burst of "
+                + BURST_MILLIS + " ms every second\n");
+
+        run("Without stealing", false, schedule);
+        run("With stealing", true, schedule);
+    }
+
+    // Poisson arrivals: base rate all the time plus a burst in a rotating category
+    private static List<Arrival> schedule(int seconds, Random random) {
+        List<Arrival> arrivals = new ArrayList<>();
+        long end = seconds * 1_000_000_000L;
+        double t = 0;
+        while (t < end) {
+            t += exponential(random, 1e9 / BASE_RATE_PER_SECOND);
+            int category = pick(random, BASE_SHARE);
+            arrivals.add(new Arrival((long) t, category, exponential(random, SERVICE_MILLIS[category])));
+        }
+        for (int s = 0; s < seconds; s++) {
+            int category = s % CATEGORIES.length;
+            double burstStart = s * 1e9 + 200e6;
+            double b = burstStart;
+            while (b < burstStart + BURST_MILLIS * 1e6) {
+                b += exponential(random, 1e9 / BURST_RATE_PER_SECOND);
+                arrivals.add(new Arrival((long) b, category, exponential(random, SERVICE_MILLIS[category])));
+            }
+        }
+        arrivals.sort(Comparator.comparingLong(a -> a.atNanos));
+        return arrivals;
+    }
+
+    private static void run(String title, boolean stealing, List<Arrival> schedule) throws InterruptedException {
+        EXER3_CrewDispatcher dispatcher = new EXER3_CrewDispatcher(stealing);
+        for (int c = 0; c < CATEGORIES.length; c++) {
+            for (int i = 1; i <= CREWS[c]; i++) {
+                dispatcher.addCrew(CATEGORIES[c] + "-" + i, CATEGORIES[c], WEIGHTS[c]);
+            }
+        }
+
+        // Planned work time of each request; the crew just sleeps that long
+        Map<EXER3_ServiceRequest, Double> workMillis = new ConcurrentHashMap<>();
+        dispatcher.start((crew, request) -> {
+            double millis = workMillis.get(request);
+            Thread.sleep((long) millis, (int) ((millis % 1) * 1_000_000));
+        });
+
+        long start = System.nanoTime();
+        for (Arrival arrival : schedule) {
+            long wait = start + arrival.atNanos - System.nanoTime();
+            if (wait > 0) LockSupport.parkNanos(wait);
+            EXER3_ServiceRequest request = new EXER3_ServiceRequest(CATEGORIES[arrival.category], "Pending",
+                    "Simulated " + CATEGORIES[arrival.category].toLowerCase() + " report");
+            workMillis.put(request, arrival.serviceMillis);
+            dispatcher.submit(request);
+        }
+        long done = 0;
+        while ((done = completed(dispatcher)) < schedule.size()) {
+            Thread.sleep(5);
+        }
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        dispatcher.stop();
+
+        long[] waits = dispatcher.getWaits();
+        Arrays.sort(waits);
+        double mean = 0;
+        for (long w : waits) mean += w;
+        mean /= waits.length;
+
+        System.out.println("=== " + title + " ===");
+        System.out.printf("Throughput: %.0f requests/s (%d in %.2f s)%n", done / elapsed, done, elapsed);
+        System.out.printf("Queue wait: mean %.1f ms, p50 %.1f ms, p95 %.1f ms, p99 %.1f ms, max %.1f ms%n",
+                mean / 1e6, percentile(waits, 0.50), percentile(waits, 0.95), percentile(waits, 0.99),
+                waits[waits.length - 1] / 1e6);
+        for (EXER3_CrewDispatcher.Crew crew : dispatcher.getCrews()) {
+            System.out.printf("  %-14s completed %5d, stolen %5d%n", crew.getName(), crew.getCompleted(), crew.getStolen());
+        }
+        System.out.println();
+    }
+
+    private static long completed(EXER3_CrewDispatcher dispatcher) {
+        long total = 0;
+        for (EXER3_CrewDispatcher.Crew crew : dispatcher.getCrews()) total += crew.getCompleted();
+        return total;
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.round(p * (sorted.length - 1)))] / 1e6;
+    }
+
+    private static double exponential(Random random, double mean) {
+        return -Math.log(1 - random.nextDouble()) * mean;
+    }
+
+    private static int pick(Random random, double[] shares) {
+        double r = random.nextDouble();
+        for (int i = 0; i < shares.length - 1; i++) {
+            r -= shares[i];
+            if (r < 0) return i;
+        }
+        return shares.length - 1;
+    }
+}
@@ -0,0 +1,191 @@
+import java.util.*;
+
+// Finds new service requests that describe something already reported.
+// Each description becomes a set of shingles (its words and the 3-letter pieces
+// of each word), summarised by a MinHash signature. Signatures are cut into
+// bands and every band is a hash bucket (LSH), so a new request is only compared
+// with requests sharing at least one bucket instead of with every open request.
+// Candidates are then checked with the estimated Jaccard similarity.
+public class EXER3_DuplicateDetector {
+    public static final double DEFAULT_THRESHOLD = 0.5;
+
+    // 20 bands of 3 rows: two descriptions with similarity 0.5 share a bucket
+    // about 93% of the time, at 0.8 almost always, at 0.2 about 15% of the time
+    private static final int BANDS = 20;
+    private static final int ROWS = 3;
+    private static final int NUM_HASHES = BANDS * ROWS;
+    private static final long[] SEEDS = new long[NUM_HASHES];
+
+    static {
+        Random random = new Random(0x5EED);
+        for (int i = 0; i < NUM_HASHES; i++) SEEDS[i] = random.nextLong();
+    }
+
+    // Words that say nothing about what is broken
+    private static final Set<String> STOP_WORDS = new HashSet<>(Arrays.asList(
+            "a", "an", "the", "in", "on", "at", "of", "to", "is", "are", "was", "near", "since", "and", "our", "my",
+            "there", "please", "again", "still", "very", "this", "that", "by", "for", "with"));
+
+    private static class Entry {
+        final EXER3_ServiceRequest request;
+        final int[] signature;
+        boolean replaced; // superseded after the request was edited
+
+        Entry(EXER3_ServiceRequest request, int[] signature) {
+            this.request = request;
+            this.signature = signature;
+        }
+    }
+
+    private final double threshold;
+    private final Map<Long, List<Entry>> buckets = new HashMap<>();
+    private final Map<EXER3_ServiceRequest, Entry> entries = new IdentityHashMap<>();
+    private int indexed = 0;
+
+    public EXER3_DuplicateDetector() {
+        this(DEFAULT_THRESHOLD);
+    }
+
+    public EXER3_DuplicateDetector(double threshold) {
+        if (threshold <= 0 || threshold > 1) throw new IllegalArgumentException("Threshold must be in (0, 1]: " + threshold);
+        this.threshold = threshold;
+    }
+
+    // Call for every new request. If it matches an open request of the same
+    // category it is linked to that one (and not indexed); otherwise it is indexed.
+    // Returns the open request it was linked to, or null if it is new.
+    // A description with nothing to compare (empty, or only stop words) is never
+    // linked and never indexed.
+    public EXER3_ServiceRequest submit(EXER3_ServiceRequest request) {
+        int[] signature = signature(request.getDescription());
+        if (signature == null) return null;
+        EXER3_ServiceRequest original = findDuplicate(request.getCategory(), signature);
+        if (original != null) {
+            request.linkTo(original);
+            return original;
+        }
+
+        index(request, signature);
+        indexed++;
+        return null;
+    }
+
+    // Re-indexes a request after its description or category changed, so it is
+    // matched by its new text; the request calls this itself from its setters
+    public void update(EXER3_ServiceRequest request) {
+        Entry old = entries.get(request);
+        if (old == null) return;
+        old.replaced = true;
+        entries.remove(request);
+        int[] signature = signature(request.getDescription());
+        if (signature != null) index(request, signature);
+    }
+
+    private void index(EXER3_ServiceRequest request, int[] signature) {
+        Entry entry = new Entry(request, signature);
+        for (int band = 0; band < BANDS; band++) {
+            buckets.computeIfAbsent(bucketKey(request.getCategory(), signature, band), k -> new ArrayList<>()).add(entry);
+        }
+        entries.put(request, entry);
+        request.setEditListener(this::update);
+    }
+
+    // Most similar open request of the category above the threshold, or null
+    private EXER3_ServiceRequest findDuplicate(String category, int[] signature) {
+        Set<Entry> seen = new HashSet<>();
+        EXER3_ServiceRequest best = null;
+        double bestSimilarity = threshold;
+        for (int band = 0; band < BANDS; band++) {
+            List<Entry> bucket = buckets.get(bucketKey(category, signature, band));
+            if (bucket == null) continue;
+            // Entries superseded by update() are dropped; resolved requests stay
+            // indexed (but are not matched) because they may be reopened
+            bucket.removeIf(e -> e.replaced);
+            for (Entry entry : bucket) {
+                if (!seen.add(entry)) continue;
+                if (!isOpen(entry.request)) continue;
+                double similarity = estimate(signature, entry.signature);
+                if (similarity >= bestSimilarity) {
+                    bestSimilarity = similarity;
+                    best = entry.request;
+                }
+            }
+        }
+        return best;
+    }
+
+    // Requests ever indexed, including ones resolved since
+    public int getIndexedCount() { return indexed; }
+
+    private static boolean isOpen(EXER3_ServiceRequest request) {
+        return !"Resolved".equalsIgnoreCase(request.getStatus());
+    }
+
+    // Estimated Jaccard similarity of two descriptions (0 if either has no words to compare)
+    public static double similarity(String a, String b) {
+        int[] signatureA = signature(a), signatureB = signature(b);
+        if (signatureA == null || signatureB == null) return 0;
+        return estimate(signatureA, signatureB);
+    }
+
+    private static double estimate(int[] a, int[] b) {
+        int same = 0;
+        for (int i = 0; i < NUM_HASHES; i++) {
+            if (a[i] == b[i]) same++;
+        }
+        return (double) same / NUM_HASHES;
+    }
+
+    private static long bucketKey(String category, int[] signature, int band) {
+        long h = categoryKey(category).hashCode() * 31L + band;
+        for (int r = band * ROWS; r < (band + 1) * ROWS; r++) {
+            h = h * 0x9E3779B97F4A7C15L + signature[r];
+        }
+        return h;
+    }
+
+    private static String categoryKey(String category) {
+        return category == null ? "" : category.toLowerCase();
+    }
+
+    // ---------------- MinHash ----------------
+
+    // null when the description has no shingles
+    static int[] signature(String description) {
+        Set<Long> shingles = shingles(description);
+        if (shingles.isEmpty()) return null;
+        int[] signature = new int[NUM_HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (long shingle : shingles) {
+            for (int i = 0; i < NUM_HASHES; i++) {
+                int h = (int) (mix(shingle ^ SEEDS[i]) >>> 33);
+                if (h < signature[i]) signature[i] = h;
+            }
+        }
+        return signature;
+    }
+
+    private static Set<Long> shingles(String description) {
+        Set<Long> shingles = new HashSet<>();
+        if (description == null) return shingles;
+        for (String word : description.toLowerCase().split("[^a-z0-9]+")) {
+            if (word.isEmpty() || STOP_WORDS.contains(word)) continue;
+            shingles.add(mix(word.hashCode()));
+            // Letter trigrams let "streetlight" match "street light" and small typos
+            String padded = "_" + word + "_";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                shingles.add(mix(padded.substring(i, i + 3).hashCode() + 0x100000000L));
+            }
+        }
+        return shingles;
+    }
+
+    private static long mix(long x) {
+        x ^= x >>> 33;
+        x *= 0xFF51AFD7ED558CCDL;
+        x ^= x >>> 33;
+        x *= 0xC4CEB9FE1A85EC53L;
+        x ^= x >>> 33;
+        return x;
+    }
+}
@@ -0,0 +1,258 @@
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.zip.*;
+
+// Cold storage for resolved service requests.
+// Requests are grouped by the day they were resolved; each group is written as an
+// immutable segment file "seg-<day>-<n>.dat" made of Deflate-compressed blocks of
+// up to 256 requests, sorted by category and then resolve time. The end of the
+// file holds a block index (offset, size, first/last resolve time and a category
+// mask per block), so a query by date range and category only inflates the
+// blocks that can match.
+//
+// Segment layout:
+//   [block 0][block 1]...[index: count, then per block offset/length/records/from/to/mask]
+//   [index offset: long][MAGIC: int]
+public class EXER3_RequestArchive {
+    public static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+    private static final int MAGIC = 0x53524132; // "SRA2"
+    private static final int BLOCK_RECORDS = 256;
+
+    // One entry of a segment's block index
+    private static class Block {
+        final long offset;
+        final int length, records;
+        final long from, to;
+        final long categoryMask;
+
+        Block(long offset, int length, int records, long from, long to, long categoryMask) {
+            this.offset = offset;
+            this.length = length;
+            this.records = records;
+            this.from = from;
+            this.to = to;
+            this.categoryMask = categoryMask;
+        }
+    }
+
+    private final Path directory;
+    private final Map<Path, List<Block>> indexCache = new HashMap<>();
+    private int blocksRead, blocksSkipped;
+
+    public EXER3_RequestArchive(Path directory) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+    }
+
+    // Writes resolved requests into new segment files, one per resolve day.
+    // All or nothing: every segment is written to a temp file first and the files
+    // are moved into place only when all writes succeeded.
+    public void archive(List<EXER3_ServiceRequest> resolved) throws IOException {
+        Map<Long, List<EXER3_ServiceRequest>> byDay = new TreeMap<>();
+        for (EXER3_ServiceRequest request : resolved) {
+            byDay.computeIfAbsent(request.getResolvedAt() / DAY_MILLIS, d -> new ArrayList<>()).add(request);
+        }
+
+        Map<Path, List<Block>> written = new LinkedHashMap<>();
+        List<Path> moved = new ArrayList<>();
+        try {
+            for (Map.Entry<Long, List<EXER3_ServiceRequest>> day : byDay.entrySet()) {
+                List<EXER3_ServiceRequest> requests = day.getValue();
+                // Grouping by category first lets a category query skip most blocks
+                requests.sort(Comparator.comparing((EXER3_ServiceRequest r) -> categoryKey(r.getCategory()))
+                        .thenComparingLong(EXER3_ServiceRequest::getResolvedAt));
+                Path path = nextSegmentPath(day.getKey());
+                written.put(path, null); // registered first so a half-written temp file is cleaned up
+                written.put(path, writeSegment(tempPath(path), requests));
+            }
+            for (Path path : written.keySet()) {
+                Files.move(tempPath(path), path, StandardCopyOption.ATOMIC_MOVE);
+                moved.add(path);
+            }
+        } catch (IOException | RuntimeException e) {
+            // Leave nothing behind, so the caller can keep the requests and retry
+            for (Path path : written.keySet()) Files.deleteIfExists(tempPath(path));
+            for (Path path : moved) Files.deleteIfExists(path);
+            throw e;
+        }
+        indexCache.putAll(written);
+    }
+
+    // Resolved requests with from <= resolvedAt < to, optionally of one category (null for all)
+    public List<EXER3_ServiceRequest> query(long from, long to, String category) throws IOException {
+        List<EXER3_ServiceRequest> found = new ArrayList<>();
+        long firstDay = from / DAY_MILLIS, lastDay = (to - 1) / DAY_MILLIS;
+        long mask = category == null ? -1L : categoryBit(category);
+
+        for (Path segment : segments()) {
+            long day = dayOf(segment);
+            if (day < firstDay || day > lastDay) continue; // whole partition is outside the range
+
+            try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "r")) {
+                for (Block block : index(segment, file)) {
+                    if (block.to < from || block.from >= to || (block.categoryMask & mask) == 0) {
+                        blocksSkipped++;
+                        continue;
+                    }
+                    blocksRead++;
+                    for (EXER3_ServiceRequest request : readBlock(file, block)) {
+                        long t = request.getResolvedAt();
+                        if (t >= from && t < to && (category == null || category.equalsIgnoreCase(request.getCategory()))) {
+                            found.add(request);
+                        }
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    public int getBlocksRead() { return blocksRead; }
+    public int getBlocksSkipped() { return blocksSkipped; }
+
+    public void resetCounters() {
+        blocksRead = 0;
+        blocksSkipped = 0;
+    }
+
+    // ---------------- Segment files ----------------
+
+    // Writes one segment to the given file and returns its block index
+    private static List<Block> writeSegment(Path temp, List<EXER3_ServiceRequest> requests) throws IOException {
+        List<Block> blocks = new ArrayList<>();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            for (int start = 0; start < requests.size(); start += BLOCK_RECORDS) {
+                List<EXER3_ServiceRequest> chunk = requests.subList(start, Math.min(requests.size(), start + BLOCK_RECORDS));
+                byte[] compressed = compress(chunk);
+                long mask = 0, first = Long.MAX_VALUE, last = Long.MIN_VALUE;
+                for (EXER3_ServiceRequest request : chunk) {
+                    mask |= categoryBit(request.getCategory());
+                    first = Math.min(first, request.getResolvedAt());
+                    last = Math.max(last, request.getResolvedAt());
+                }
+                blocks.add(new Block(out.size(), compressed.length, chunk.size(), first, last, mask));
+                out.write(compressed);
+            }
+
+            long indexOffset = out.size();
+            out.writeInt(blocks.size());
+            for (Block block : blocks) {
+                out.writeLong(block.offset);
+                out.writeInt(block.length);
+                out.writeInt(block.records);
+                out.writeLong(block.from);
+                out.writeLong(block.to);
+                out.writeLong(block.categoryMask);
+            }
+            out.writeLong(indexOffset);
+            out.writeInt(MAGIC);
+        }
+        return blocks;
+    }
+
+    private static Path tempPath(Path segment) {
+        return segment.resolveSibling(segment.getFileName() + ".tmp");
+    }
+
+    private List<Block> index(Path segment, RandomAccessFile file) throws IOException {
+        List<Block> blocks = indexCache.get(segment);
+        if (blocks != null) return blocks;
+
+        file.seek(file.length() - 12);
+        long indexOffset = file.readLong();
+        if (file.readInt() != MAGIC) throw new IOException("Not a request archive segment: " + segment);
+        file.seek(indexOffset);
+        int count = file.readInt();
+        blocks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            blocks.add(new Block(file.readLong(), file.readInt(), file.readInt(), file.readLong(), file.readLong(), file.readLong()));
+        }
+        indexCache.put(segment, blocks);
+        return blocks;
+    }
+
+    private static byte[] compress(List<EXER3_ServiceRequest> requests) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes, deflater))) {
+            for (EXER3_ServiceRequest request : requests) {
+                out.writeLong(request.getResolvedAt());
+                writeString(out, request.getCategory());
+                writeString(out, request.getDescription());
+            }
+        } finally {
+            deflater.end();
+        }
+        return bytes.toByteArray();
+    }
+
+    private static List<EXER3_ServiceRequest> readBlock(RandomAccessFile file, Block block) throws IOException {
+        byte[] compressed = new byte[block.length];
+        file.seek(block.offset);
+        file.readFully(compressed);
+        List<EXER3_ServiceRequest> requests = new ArrayList<>(block.records);
+        try (DataInputStream in = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(compressed)))) {
+            for (int i = 0; i < block.records; i++) {
+                long resolvedAt = in.readLong();
+                String category = readString(in);
+                EXER3_ServiceRequest request = new EXER3_ServiceRequest(category, "Resolved", readString(in));
+                request.setResolvedAt(resolvedAt);
+                requests.add(request);
+            }
+        }
+        return requests;
+    }
+
+    // Length-prefixed UTF-8 (-1 for null); unlike writeUTF there is no 64 KB limit
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) return null;
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private List<Path> segments() throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "seg-*.dat")) {
+            for (Path file : files) segments.add(file);
+        }
+        Collections.sort(segments);
+        return segments;
+    }
+
+    // seg-<day>-<n>.dat, where n counts the segments already written for that day
+    private Path nextSegmentPath(long day) throws IOException {
+        int n = 0;
+        for (Path segment : segments()) {
+            if (dayOf(segment) == day) n++;
+        }
+        return directory.resolve(String.format("seg-%06d-%03d.dat", day, n));
+    }
+
+    private static long dayOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(4, name.indexOf('-', 4)));
+    }
+
+    // One of 64 bits per category; a block's mask is the OR of its requests' bits
+    private static long categoryBit(String category) {
+        return 1L << (categoryKey(category).hashCode() & 63);
+    }
+
+    private static String categoryKey(String category) {
+        return category == null ? "" : category.toLowerCase();
+    }
+}
@@ -0,0 +1,109 @@
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+
+// Hot working set of service requests, with an age-based tiering job that moves
+// requests resolved long enough ago into EXER3_RequestArchive.
+public class EXER3_RequestStore {
+    public static final long DEFAULT_HOT_DAYS = 7;
+
+    private final List<EXER3_ServiceRequest> hot = new ArrayList<>();
+    private final EXER3_RequestArchive archive;
+
+    public EXER3_RequestStore(EXER3_RequestArchive archive) {
+        this.archive = archive;
+    }
+
+    public void add(EXER3_ServiceRequest request) {
+        hot.add(request);
+    }
+
+    public List<EXER3_ServiceRequest> getHot() {
+        return Collections.unmodifiableList(hot);
+    }
+
+    // Moves requests resolved before (now - minAgeMillis) to the archive; returns how many moved
+    public int tierOut(long now, long minAgeMillis) throws IOException {
+        long cutoff = now - minAgeMillis;
+        List<EXER3_ServiceRequest> cold = new ArrayList<>();
+        for (EXER3_ServiceRequest request : hot) {
+            if ("Resolved".equalsIgnoreCase(request.getStatus()) && request.getResolvedAt() < cutoff) {
+                cold.add(request);
+            }
+        }
+        if (cold.isEmpty()) return 0;
+
+        // Written first, removed after: archive() is all or nothing, so a failed
+        // write leaves every request hot and nothing on disk
+        archive.archive(cold);
+        Set<EXER3_ServiceRequest> moved = Collections.newSetFromMap(new IdentityHashMap<>());
+        moved.addAll(cold);
+        hot.removeIf(moved::contains);
+        return cold.size();
+    }
+
+    // History query: open and recent requests from the hot store plus archived ones
+    public List<EXER3_ServiceRequest> resolvedBetween(long from, long to, String category) throws IOException {
+        List<EXER3_ServiceRequest> found = archive.query(from, to, category);
+        for (EXER3_ServiceRequest request : hot) {
+            long t = request.getResolvedAt();
+            if (t != 0 && t >= from && t < to && (category == null || category.equalsIgnoreCase(request.getCategory()))) {
+                found.add(request);
+            }
+        }
+        return found;
+    }
+
+    // Demo: 90 days of requests, tiered out after 7 days, then a one-week query for Water.
+    // Without a directory argument the archive goes to a temp directory that is deleted afterwards.
+    public static void main(String[] args) throws IOException {
+        Path dir = args.length > 0 ? Paths.get(args[0]) : Files.createTempDirectory("request-archive");
+        try {
+            demo(dir);
+        } finally {
+            if (args.length == 0) {
+                try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+                    for (Path file : files) Files.deleteIfExists(file);
+                }
+                Files.deleteIfExists(dir);
+            }
+        }
+    }
+
+    private static void demo(Path dir) throws IOException {
+        EXER3_RequestArchive archive = new EXER3_RequestArchive(dir);
+        EXER3_RequestStore store = new EXER3_RequestStore(archive);
+
+        String[] categories = {"Garbage", "Water", "Streetlight"};
+        String[] places = {"Zone 1", "Zone 2", "Zone 3", "the barangay hall", "the market", "the school"};
+        long day = EXER3_RequestArchive.DAY_MILLIS;
+        long now = (System.currentTimeMillis() / day) * day;
+        long start = now - 90 * day;
+        Random random = new Random(3);
+        for (int i = 0; i < 100_000; i++) {
+            String category = categories[random.nextInt(categories.length)];
+            EXER3_ServiceRequest request = new EXER3_ServiceRequest(category, "Pending",
+                    category + " problem reported near " + places[random.nextInt(places.length)]);
+            if (random.nextInt(10) < 9) {
+                request.setStatus("Resolved");
+                request.setResolvedAt(start + (long) (random.nextDouble() * 90 * day));
+            }
+            store.add(request);
+        }
+
+        int moved = store.tierOut(now, DEFAULT_HOT_DAYS * day);
+        long bytes = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "seg-*.dat")) {
+            for (Path file : files) bytes += Files.size(file);
+        }
+        System.out.printf("Moved %,d resolved requests to the archive (%,d bytes on disk), %,d stay hot%n",
+                moved, bytes, store.getHot().size());
+
+        long from = now - 30 * day, to = now - 23 * day;
+        archive.resetCounters();
+        long t0 = System.nanoTime();
+        List<EXER3_ServiceRequest> water = store.resolvedBetween(from, to, "Water");
+        System.out.printf("Water requests resolved 30-23 days ago: %,d (%.1f ms, %d blocks read, %d skipped by the index)%n",
+                water.size(), (System.nanoTime() - t0) / 1e6, archive.getBlocksRead(), archive.getBlocksSkipped());
+    }
+}
@@ -1,22 +1,56 @@
+import java.util.function.Consumer;
+
 public class EXER3_ServiceRequest {
     private String category;
     private String status;
     private String description;
+    private EXER3_ServiceRequest duplicateOf; // the open request this one was linked to, if any
+    private int reportCount = 1;              // this report plus the duplicates linked to it
+    private long resolvedAt;                  // epoch millis when it became "Resolved", 0 if not yet
+    private Consumer<EXER3_ServiceRequest> editListener; // told when category or description changes
 
     // Constructor
     public EXER3_ServiceRequest(String category, String status, String description) {
         this.category = category;
-        this.status = status;
+        setStatus(status);
         this.description = description;
     }
 
     // Getters and Setters
     public String getCategory() { return category; }
-    public void setCategory(String category) { this.category = category; }
+    public void setCategory(String category) {
+        this.category = category;
+        if (editListener != null) editListener.accept(this);
+    }
 
     public String getStatus() { return status; }
-    public void setStatus(String status) { this.status = status; }
+    public void setStatus(String status) {
+        this.status = status;
+        if ("Resolved".equalsIgnoreCase(status)) {
+            if (resolvedAt == 0) resolvedAt = System.currentTimeMillis();
+        } else {
+            resolvedAt = 0;
+        }
+    }
 
     public String getDescription() { return description; }
-    public void setDescription(String description) { this.description = description; }
+    public void setDescription(String description) {
+        this.description = description;
+        if (editListener != null) editListener.accept(this);
+    }
+
+    public EXER3_ServiceRequest getDuplicateOf() { return duplicateOf; }
+    public int getReportCount() { return reportCount; }
+
+    public long getResolvedAt() { return resolvedAt; }
+    public void setResolvedAt(long resolvedAt) { this.resolvedAt = resolvedAt; }
+
+    // Used by EXER3_DuplicateDetector to re-index the request after an edit
+    void setEditListener(Consumer<EXER3_ServiceRequest> editListener) { this.editListener = editListener; }
+
+    // Marks this request as another report of an existing one
+    public void linkTo(EXER3_ServiceRequest original) {
+        this.duplicateOf = original;
+        original.reportCount++;
+    }
 }
@@ -23,5 +23,23 @@ public class EXER3_ServiceRequestTester {
         System.out.println("Request 1: " + r1.getCategory() + " | " + r1.getStatus() + " | " + r1.getDescription());
         System.out.println("Request 2: " + r2.getCategory() + " | " + r2.getStatus() + " | " + r2.getDescription());
         System.out.println("Request 3: " + r3.getCategory() + " | " + r3.getStatus() + " | " + r3.getDescription());
+
+        // Duplicate detection: repeated reports are linked to the open request
+        System.out.println("\n=== Duplicate Detection ===");
+        EXER3_DuplicateDetector detector = new EXER3_DuplicateDetector();
+        EXER3_ServiceRequest[] reports = {
+            r1, r2, r3,
+            new EXER3_ServiceRequest("Streetlight", "Pending", "Streetlight broken near the barangay hall after rain"),
+            new EXER3_ServiceRequest("Garbage", "Pending", "Garbage still being collected by barangay staff"),
+            new EXER3_ServiceRequest("Water", "Pending", "Water supply restored this morning"),
+            new EXER3_ServiceRequest("Streetlight", "Pending", "Street light problem near barangay hall returned")
+        };
+        for (EXER3_ServiceRequest report : reports) {
+            EXER3_ServiceRequest original = detector.submit(report);
+            System.out.println((original == null ? "New:       " : "Duplicate: ") + report.getDescription()
+                    + (original == null ? "" : "  ->  " + original.getDescription()));
+        }
+        System.out.println("Requests indexed: " + detector.getIndexedCount()
+                + ", reports on request 3: " + r3.getReportCount());
     }
 }
@@ -6,6 +6,10 @@ public class EXER4_Admin extends EXER4_User {
         this.role = "Admin";
     }
 
+    public String getRole() {
+        return role;
+    }
+
     @Override
     public void displayInfo() {
         System.out.println("Admin: " + name + " | Username: " + username + " | Role: " + role);
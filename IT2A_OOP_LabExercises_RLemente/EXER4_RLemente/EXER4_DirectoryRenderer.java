@@ -0,0 +1,103 @@
+import java.io.PrintStream;
+import java.util.List;
+
+// Bulk directory listing: groups users by role and writes each page in one print call
+public class EXER4_DirectoryRenderer {
+    private static final int ROLE_ADMIN = 0;
+    private static final int ROLE_RESIDENT = 1;
+    private static final int ROLE_USER = 2;
+    private static final int ROLE_COUNT = 3;
+
+    // Precomputed field templates (same text as each displayInfo())
+    private static final String[] ROLE_PREFIX = {"Admin: ", "Resident: ", "User: "};
+    private static final String USERNAME_FIELD = " | Username: ";
+    private static final String ROLE_FIELD = " | Role: ";
+    private static final String ADDRESS_FIELD = " | Address: ";
+    private static final String NEWLINE = System.lineSeparator();
+
+    private final int pageSize;
+    private final StringBuilder buffer;
+    private final EXER4_User[][] groups;
+    private final int[] groupSizes = new int[ROLE_COUNT];
+
+    public EXER4_DirectoryRenderer(int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+        }
+        this.pageSize = pageSize;
+        this.buffer = new StringBuilder(pageSize * 64);
+        this.groups = new EXER4_User[ROLE_COUNT][pageSize];
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public int pageCount(List<? extends EXER4_User> users) {
+        return (users.size() + pageSize - 1) / pageSize;
+    }
+
+    // Renders one page (0-based), grouped by role, and writes it once
+    public void renderPage(List<? extends EXER4_User> users, int page, PrintStream out) {
+        int from = page * pageSize;
+        int to = Math.min(users.size(), from + pageSize);
+        if (page < 0 || from >= to) {
+            return;
+        }
+
+        // Group the page by role
+        for (int i = from; i < to; i++) {
+            EXER4_User user = users.get(i);
+            int role = roleOf(user);
+            groups[role][groupSizes[role]++] = user;
+        }
+
+        // Format each group into the shared buffer
+        for (int role = 0; role < ROLE_COUNT; role++) {
+            EXER4_User[] group = groups[role];
+            for (int i = 0; i < groupSizes[role]; i++) {
+                appendUser(role, group[i]);
+                group[i] = null;
+            }
+            groupSizes[role] = 0;
+        }
+
+        out.print(buffer);
+        buffer.setLength(0);
+    }
+
+    // Renders every page in order; memory use stays bounded by the page size
+    public void renderAll(List<? extends EXER4_User> users, PrintStream out) {
+        int pages = pageCount(users);
+        for (int page = 0; page < pages; page++) {
+            renderPage(users, page, out);
+        }
+        out.flush();
+    }
+
+    private static int roleOf(EXER4_User user) {
+        if (user instanceof EXER4_Admin) {
+            return ROLE_ADMIN;
+        } else if (user instanceof EXER4_Resident) {
+            return ROLE_RESIDENT;
+        }
+        return ROLE_USER;
+    }
+
+    private void appendUser(int role, EXER4_User user) {
+        buffer.append(ROLE_PREFIX[role]).append(user.name)
+              .append(USERNAME_FIELD).append(user.username);
+
+        switch (role) {
+            case ROLE_ADMIN:
+                buffer.append(ROLE_FIELD).append(((EXER4_Admin) user).getRole());
+                break;
+            case ROLE_RESIDENT:
+                buffer.append(ADDRESS_FIELD).append(((EXER4_Resident) user).getAddress());
+                break;
+            default:
+                break;
+        }
+        buffer.append(NEWLINE);
+    }
+}
@@ -0,0 +1,109 @@
+import java.text.Normalizer;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Bounded interning cache for names so common names share one String instance
+public class EXER4_NameCache {
+    private static final int DEFAULT_CAPACITY = 10_000;
+    private static final EXER4_NameCache SHARED = new EXER4_NameCache(DEFAULT_CAPACITY);
+
+    private final int capacity;
+    private final Map<String, String> parts;
+    private final Map<String, Map<String, String>> fullNames;
+    private int fullNameCount = 0;
+
+    public EXER4_NameCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+
+        // Access-ordered so the least recently used name is evicted first
+        this.parts = new LinkedHashMap<String, String>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > EXER4_NameCache.this.capacity;
+            }
+        };
+        this.fullNames = new HashMap<>();
+    }
+
+    public static EXER4_NameCache shared() {
+        return SHARED;
+    }
+
+    // Returns the cached instance of a first name, last name or full name
+    public synchronized String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        String cached = parts.get(value);
+        if (cached != null) {
+            return cached;
+        }
+        parts.put(value, value);
+        return value;
+    }
+
+    // Returns "first last", reusing the same String for repeated pairs
+    public synchronized String fullName(String firstName, String lastName) {
+        String first = intern(firstName);
+        String last = intern(lastName);
+
+        Map<String, String> byLast = fullNames.get(first);
+        if (byLast != null) {
+            String cached = byLast.get(last);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        // Start over when the pair table is full instead of growing without limit
+        if (fullNameCount >= capacity) {
+            fullNames.clear();
+            fullNameCount = 0;
+            byLast = null;
+        }
+        if (byLast == null) {
+            byLast = new HashMap<>();
+            fullNames.put(first, byLast);
+        }
+
+        String full = intern(first + " " + last);
+        byLast.put(last, full);
+        fullNameCount++;
+        return full;
+    }
+
+    public synchronized int size() {
+        return parts.size();
+    }
+
+    // Normalized, case-folded key used for prefix search ("  Juan  dela Cruz" -> "juan dela cruz")
+    public static String searchKey(String name) {
+        if (name == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(name, Normalizer.Form.NFD);
+        StringBuilder key = new StringBuilder(decomposed.length());
+        boolean pendingSpace = false;
+
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue; // drop accents (e.g. "Peñafrancia" -> "penafrancia")
+            }
+            if (Character.isWhitespace(c)) {
+                pendingSpace = key.length() > 0;
+                continue;
+            }
+            if (pendingSpace) {
+                key.append(' ');
+                pendingSpace = false;
+            }
+            key.append(Character.toLowerCase(Character.toUpperCase(c)));
+        }
+        return key.toString();
+    }
+}
@@ -0,0 +1,56 @@
+import java.util.*;
+
+// Prefix lookup over users by normalized full name, any word of it, and last name
+public class EXER4_NameIndex {
+    private final TreeMap<String, List<EXER4_User>> index = new TreeMap<>();
+
+    public void add(EXER4_User user) {
+        for (String key : keysOf(user)) {
+            index.computeIfAbsent(key, k -> new ArrayList<>()).add(user);
+        }
+    }
+
+    public void remove(EXER4_User user) {
+        for (String key : keysOf(user)) {
+            List<EXER4_User> users = index.get(key);
+            if (users != null) {
+                users.remove(user);
+                if (users.isEmpty()) {
+                    index.remove(key);
+                }
+            }
+        }
+    }
+
+    // Use this instead of calling setName() directly, so the user is found under the new name
+    public void rename(EXER4_User user, Runnable rename) {
+        remove(user);
+        rename.run();
+        add(user);
+    }
+
+    // Finds users whose full name or last name starts with the given prefix
+    public List<EXER4_User> findByPrefix(String prefix) {
+        String key = EXER4_NameCache.searchKey(prefix);
+        Set<EXER4_User> found = new LinkedHashSet<>();
+        for (List<EXER4_User> users : index.subMap(key, true, key + Character.MAX_VALUE, false).values()) {
+            found.addAll(users);
+        }
+        return new ArrayList<>(found);
+    }
+
+    // The full name from each of its words on ("juan dela cruz", "dela cruz", "cruz"),
+    // so a prefix of any word finds the user even when the last name is not known
+    private static Set<String> keysOf(EXER4_User user) {
+        Set<String> keys = new LinkedHashSet<>();
+        String full = EXER4_NameCache.searchKey(user.name);
+        keys.add(full);
+        for (int i = full.indexOf(' '); i >= 0; i = full.indexOf(' ', i + 1)) {
+            keys.add(full.substring(i + 1));
+        }
+        if (user.getLastName() != null && !user.getLastName().isEmpty()) {
+            keys.add(EXER4_NameCache.searchKey(user.getLastName()));
+        }
+        return keys;
+    }
+}
@@ -1,3 +1,5 @@
+import java.util.*;
+
 public class EXER4_ProjectTester {
     public static void main(String[] args) {
         // Upcasting (Polymorphism in action)
@@ -14,5 +16,42 @@ public class EXER4_ProjectTester {
 
         user2.setName("Pedro", "Penduko");
         user2.displayInfo();
+
+        // Bulk listing (grouped by role, one write per page)
+        System.out.println();
+        List<EXER4_User> directory = new ArrayList<>();
+        directory.add(user2);
+        directory.add(user1);
+        directory.add(new EXER4_Resident("Maria Clara", "mariaclara", "secret", "Manila"));
+        directory.add(new EXER4_User("Guest", "guest", "guest"));
+
+        EXER4_DirectoryRenderer renderer = new EXER4_DirectoryRenderer(2);
+        renderer.renderAll(directory, System.out);
+
+        // Name search (case-folded prefix lookup)
+        System.out.println();
+        EXER4_NameIndex nameIndex = new EXER4_NameIndex();
+        for (EXER4_User u : directory) {
+            nameIndex.add(u);
+        }
+        System.out.println("Search 'pen':");
+        for (EXER4_User u : nameIndex.findByPrefix("pen")) {
+            u.displayInfo();
+        }
+
+        // Off-heap profiles (read through a reusable flyweight)
+        System.out.println();
+        EXER4_ResidentStore residents = new EXER4_ResidentStore();
+        for (EXER4_User u : directory) {
+            if (u instanceof EXER4_Resident) {
+                residents.add((EXER4_Resident) u);
+            }
+        }
+        residents.setAddress("mariaclara", "Binondo, Manila");
+        EXER4_ResidentProfile profile = residents.find("mariaclara");
+        profile.displayInfo();
+        System.out.println("Password ok: " + residents.checkPassword("juandelacruz", "password"));
+        residents.remove("juandelacruz");
+        System.out.println("Residents stored off-heap: " + residents.size());
     }
 }
@@ -1,4 +1,4 @@
-public class EXER4_Resident extends EXER4_User {
+public class EXER4_Resident extends EXER4_User implements EXER4_ResidentProfile {
     private String address;
 
     public EXER4_Resident(String name, String username, String password, String address) {
@@ -6,6 +6,10 @@ public class EXER4_Resident extends EXER4_User {
         this.address = address;
     }
 
+    public String getAddress() {
+        return address;
+    }
+
     @Override
     public void displayInfo() {
         System.out.println("Resident: " + name + " | Username: " + username + " | Address: " + address);
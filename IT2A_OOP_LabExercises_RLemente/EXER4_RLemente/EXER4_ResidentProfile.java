@@ -0,0 +1,11 @@
+// Read access to a resident's profile, whether it is an EXER4_Resident object or
+// a slot of EXER4_ResidentStore
+public interface EXER4_ResidentProfile {
+    String getFirstName();
+
+    String getLastName();
+
+    String getAddress();
+
+    void displayInfo();
+}
@@ -0,0 +1,374 @@
+import java.lang.management.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Consumer;
+
+// Resident profiles kept outside the Java heap, so millions of residents add
+// nothing to what the garbage collector has to trace or copy.
+// Every resident is a fixed 256-byte slot in direct memory pages of 65,536 slots;
+// the username index is an open-addressing hash table in direct memory as well.
+// Profiles are read through Profile, a reusable flyweight that decodes a field
+// only when its getter is called.
+//
+// Slot layout: a used flag, then each field as a length byte and its UTF-8 bytes:
+//   [used:1][username:1+31][password:1+31][first name:1+47][last name:1+47][address:1+94]
+// Index entry: [hash:4][slot + 1:4], 0 = empty.
+//
+// Not thread-safe.
+public class EXER4_ResidentStore {
+    public static final int SLOT_BYTES = 256;
+    private static final int PAGE_SHIFT = 16;
+    private static final int PAGE_SLOTS = 1 << PAGE_SHIFT;
+
+    private static final int USED = 0;
+    private static final int USERNAME = 1, USERNAME_MAX = 31;
+    private static final int PASSWORD = 33, PASSWORD_MAX = 31;
+    private static final int FIRST_NAME = 65, FIRST_NAME_MAX = 47;
+    private static final int LAST_NAME = 113, LAST_NAME_MAX = 47;
+    private static final int ADDRESS = 161, ADDRESS_MAX = 94;
+    private static final int NEXT_FREE = 1; // a free slot links to the next one here
+
+    private static final int ENTRY_BYTES = 8;
+
+    private final List<ByteBuffer> pages = new ArrayList<>();
+    private int highWater;      // slots ever handed out
+    private int freeHead = -1;  // removed slots, reused first
+    private int size;
+
+    private ByteBuffer table;
+    private int tableMask;
+
+    public EXER4_ResidentStore() {
+        this(1024);
+    }
+
+    public EXER4_ResidentStore(int expectedResidents) {
+        int capacity = Integer.highestOneBit(Math.max(16, expectedResidents * 2 - 1)) << 1;
+        table = ByteBuffer.allocateDirect(capacity * ENTRY_BYTES);
+        tableMask = capacity - 1;
+    }
+
+    // A view of one slot; moveTo() points it at another resident without allocating
+    public class Profile implements EXER4_ResidentProfile {
+        private int slot = -1;
+
+        public Profile moveTo(int slot) {
+            if (slot < 0 || slot >= highWater || page(slot).get(offset(slot) + USED) == 0) {
+                throw new IllegalArgumentException("No resident in slot " + slot);
+            }
+            this.slot = slot;
+            return this;
+        }
+
+        public int getSlot() { return slot; }
+
+        public String getUsername() { return field(USERNAME); }
+
+        @Override
+        public String getFirstName() { return field(FIRST_NAME); }
+
+        @Override
+        public String getLastName() { return field(LAST_NAME); }
+
+        @Override
+        public String getAddress() { return field(ADDRESS); }
+
+        public String getName() {
+            String last = getLastName();
+            return last.isEmpty() ? getFirstName() : getFirstName() + " " + last;
+        }
+
+        public boolean passwordMatches(String password) {
+            return bytesEqual(slot, PASSWORD, encode(password, Integer.MAX_VALUE, "Password"));
+        }
+
+        @Override
+        public void displayInfo() {
+            System.out.println("Resident: " + getName() + " | Username: " + getUsername() + " | Address: " + getAddress());
+        }
+
+        // A heap copy, for code that needs an EXER4_Resident (the renderer, the name index)
+        public EXER4_Resident toResident() {
+            EXER4_Resident resident = new EXER4_Resident(getFirstName(), getUsername(), field(PASSWORD), getAddress());
+            if (!getLastName().isEmpty()) resident.setName(getFirstName(), getLastName());
+            return resident;
+        }
+
+        private String field(int at) {
+            if (slot < 0) throw new IllegalStateException("Profile is not pointing at a resident");
+            ByteBuffer page = page(slot);
+            int base = offset(slot);
+            if (page.get(base + USED) == 0) throw new IllegalStateException("Resident was removed");
+            byte[] bytes = new byte[page.get(base + at) & 0xFF];
+            page.get(base + at + 1, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    public int add(EXER4_Resident resident) {
+        return add(resident.username, resident.password, resident.getFirstName(), resident.getLastName(),
+                resident.getAddress());
+    }
+
+    // Stores a resident and returns its slot; fields longer than their slot space are rejected
+    public int add(String username, String password, String firstName, String lastName, String address) {
+        byte[] user = encode(username, USERNAME_MAX, "Username");
+        byte[] pass = encode(password, PASSWORD_MAX, "Password");
+        byte[] first = encode(firstName, FIRST_NAME_MAX, "First name");
+        byte[] last = encode(lastName, LAST_NAME_MAX, "Last name");
+        byte[] addr = encode(address, ADDRESS_MAX, "Address");
+        int hash = hash(user);
+        if (probe(user, hash) >= 0) throw new IllegalArgumentException("Username already taken: " + username);
+
+        if ((size + 1) * 2 > tableMask + 1) resize();
+        int slot = allocate();
+        ByteBuffer page = page(slot);
+        int base = offset(slot);
+        page.put(base + USED, (byte) 1);
+        write(page, base + USERNAME, user);
+        write(page, base + PASSWORD, pass);
+        write(page, base + FIRST_NAME, first);
+        write(page, base + LAST_NAME, last);
+        write(page, base + ADDRESS, addr);
+        insert(hash, slot);
+        size++;
+        return slot;
+    }
+
+    // A new flyweight for the resident, or null
+    public Profile find(String username) {
+        Profile profile = new Profile();
+        return find(username, profile) ? profile : null;
+    }
+
+    // Points the given flyweight at the resident; false if there is none
+    public boolean find(String username, Profile reuse) {
+        byte[] user = encode(username, Integer.MAX_VALUE, "Username");
+        int at = probe(user, hash(user));
+        if (at < 0) return false;
+        reuse.moveTo(table.getInt(at * ENTRY_BYTES + 4) - 1);
+        return true;
+    }
+
+    public boolean checkPassword(String username, String password) {
+        Profile profile = find(username);
+        return profile != null && profile.passwordMatches(password);
+    }
+
+    public boolean setAddress(String username, String address) {
+        byte[] addr = encode(address, ADDRESS_MAX, "Address");
+        byte[] user = encode(username, Integer.MAX_VALUE, "Username");
+        int at = probe(user, hash(user));
+        if (at < 0) return false;
+        int slot = table.getInt(at * ENTRY_BYTES + 4) - 1;
+        write(page(slot), offset(slot) + ADDRESS, addr);
+        return true;
+    }
+
+    public boolean remove(String username) {
+        byte[] user = encode(username, Integer.MAX_VALUE, "Username");
+        int at = probe(user, hash(user));
+        if (at < 0) return false;
+        int slot = table.getInt(at * ENTRY_BYTES + 4) - 1;
+        deleteEntry(at);
+        ByteBuffer page = page(slot);
+        page.put(offset(slot) + USED, (byte) 0);
+        page.putInt(offset(slot) + NEXT_FREE, freeHead);
+        freeHead = slot;
+        size--;
+        return true;
+    }
+
+    // Visits every resident with one reused flyweight (do not keep it past the call)
+    public void forEach(Consumer<Profile> action) {
+        Profile profile = new Profile();
+        for (int slot = 0; slot < highWater; slot++) {
+            if (page(slot).get(offset(slot) + USED) != 0) action.accept(profile.moveTo(slot));
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Direct memory held by the slots and the index
+    public long getOffHeapBytes() {
+        return (long) pages.size() * PAGE_SLOTS * SLOT_BYTES + table.capacity();
+    }
+
+    // ---------------- Slots ----------------
+
+    private int allocate() {
+        if (freeHead >= 0) {
+            int slot = freeHead;
+            freeHead = page(slot).getInt(offset(slot) + NEXT_FREE);
+            return slot;
+        }
+        if (highWater == Integer.MAX_VALUE) throw new IllegalStateException("Resident store is full");
+        if ((highWater >>> PAGE_SHIFT) == pages.size()) {
+            pages.add(ByteBuffer.allocateDirect(PAGE_SLOTS * SLOT_BYTES));
+        }
+        return highWater++;
+    }
+
+    private ByteBuffer page(int slot) {
+        return pages.get(slot >>> PAGE_SHIFT);
+    }
+
+    private static int offset(int slot) {
+        return (slot & (PAGE_SLOTS - 1)) * SLOT_BYTES;
+    }
+
+    private static void write(ByteBuffer page, int at, byte[] bytes) {
+        page.put(at, (byte) bytes.length);
+        page.put(at + 1, bytes);
+    }
+
+    private boolean bytesEqual(int slot, int at, byte[] bytes) {
+        ByteBuffer page = page(slot);
+        int base = offset(slot) + at;
+        if ((page.get(base) & 0xFF) != bytes.length) return false;
+        for (int i = 0; i < bytes.length; i++) {
+            if (page.get(base + 1 + i) != bytes[i]) return false;
+        }
+        return true;
+    }
+
+    private static byte[] encode(String value, int max, String field) {
+        byte[] bytes = (value == null ? "" : value).getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > max) throw new IllegalArgumentException(field + " is longer than " + max + " bytes: " + value);
+        return bytes;
+    }
+
+    // ---------------- Username index (linear probing) ----------------
+
+    // Table position of the username, or -1
+    private int probe(byte[] user, int hash) {
+        for (int i = hash & tableMask; ; i = (i + 1) & tableMask) {
+            int entry = table.getInt(i * ENTRY_BYTES + 4);
+            if (entry == 0) return -1;
+            if (table.getInt(i * ENTRY_BYTES) == hash && bytesEqual(entry - 1, USERNAME, user)) return i;
+        }
+    }
+
+    private void insert(int hash, int slot) {
+        int i = hash & tableMask;
+        while (table.getInt(i * ENTRY_BYTES + 4) != 0) i = (i + 1) & tableMask;
+        table.putInt(i * ENTRY_BYTES, hash);
+        table.putInt(i * ENTRY_BYTES + 4, slot + 1);
+    }
+
+    // Removes without tombstones: later entries of the same run move back into the gap
+    private void deleteEntry(int gap) {
+        int j = gap;
+        while (true) {
+            j = (j + 1) & tableMask;
+            int entry = table.getInt(j * ENTRY_BYTES + 4);
+            if (entry == 0) break;
+            int hash = table.getInt(j * ENTRY_BYTES);
+            int home = hash & tableMask;
+            boolean canMove = gap <= j ? (home <= gap || home > j) : (home <= gap && home > j);
+            if (canMove) {
+                table.putInt(gap * ENTRY_BYTES, hash);
+                table.putInt(gap * ENTRY_BYTES + 4, entry);
+                gap = j;
+            }
+        }
+        table.putInt(gap * ENTRY_BYTES, 0);
+        table.putInt(gap * ENTRY_BYTES + 4, 0);
+    }
+
+    private void resize() {
+        ByteBuffer old = table;
+        int oldCapacity = tableMask + 1;
+        table = ByteBuffer.allocateDirect(oldCapacity * 2 * ENTRY_BYTES);
+        tableMask = oldCapacity * 2 - 1;
+        for (int i = 0; i < oldCapacity; i++) {
+            int entry = old.getInt(i * ENTRY_BYTES + 4);
+            if (entry != 0) insert(old.getInt(i * ENTRY_BYTES), entry - 1);
+        }
+    }
+
+    // FNV-1a, then spread so the low bits used by the table are well mixed
+    private static int hash(byte[] bytes) {
+        int h = 0x811C9DC5;
+        for (byte b : bytes) h = (h ^ b) * 0x01000193;
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        return h;
+    }
+
+    // Benchmark: the same residents in this store and in a HashMap of EXER4_Resident,
+    // comparing heap size, full GC pause and lookup speed (argument: residents)
+    public static void main(String[] args) {
+        int residents = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        String[] puroks = {"Purok 1", "Purok 2", "Purok 3", "Purok 4", "Purok 5"};
+        String[] barangays = {"Barangay San Isidro", "Barangay Malanday", "Barangay Poblacion", "Barangay Bagong Silang"};
+
+        System.gc();
+        long baseline = usedHeapAfterGc();
+        EXER4_ResidentStore store = new EXER4_ResidentStore(residents);
+        for (int i = 0; i < residents; i++) {
+            store.add("resident" + i, "pw" + (i * 7919 % 100_000), "First" + (i % 5000), "Last" + (i % 20_000),
+                    puroks[i % puroks.length] + ", " + barangays[i % barangays.length] + ", Quezon City");
+        }
+        Profile reused = store.new Profile();
+        report("Off-heap store", store.size(), usedHeapAfterGc() - baseline, store.getOffHeapBytes(),
+                lookups(residents, username -> store.find(username, reused)));
+
+        baseline = usedHeapAfterGc();
+        Map<String, EXER4_Resident> map = new HashMap<>();
+        for (int i = 0; i < residents; i++) {
+            EXER4_Resident resident = new EXER4_Resident("First" + (i % 5000), "resident" + i,
+                    "pw" + (i * 7919 % 100_000), puroks[i % puroks.length] + ", " + barangays[i % barangays.length] + ", Quezon City");
+            resident.setName("First" + (i % 5000), "Last" + (i % 20_000));
+            map.put(resident.username, resident);
+        }
+        report("HashMap<String, EXER4_Resident>", map.size(), usedHeapAfterGc() - baseline, 0,
+                lookups(residents, username -> map.get(username) != null));
+
+        // Same answers from both
+        Profile profile = store.find("resident12345");
+        EXER4_Resident resident = map.get("resident12345");
+        if (!profile.getAddress().equals(resident.getAddress()) || !profile.getLastName().equals(resident.getLastName())) {
+            throw new AssertionError("Stores disagree");
+        }
+        profile.displayInfo();
+        resident.displayInfo();
+    }
+
+    private interface Lookup {
+        boolean find(String username);
+    }
+
+    // Nanoseconds per lookup over random usernames
+    private static double lookups(int residents, Lookup lookup) {
+        Random random = new Random(1);
+        int rounds = 2_000_000, found = 0;
+        long t0 = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            if (lookup.find("resident" + random.nextInt(residents))) found++;
+        }
+        if (found != rounds) throw new AssertionError("Lookups failed");
+        return (double) (System.nanoTime() - t0) / rounds;
+    }
+
+    private static void report(String title, int count, long heapBytes, long offHeapBytes, double lookupNanos) {
+        long t0 = System.nanoTime();
+        System.gc();
+        double fullGcMillis = (System.nanoTime() - t0) / 1e6;
+        System.out.printf("%s: %,d residents, heap %,d MB, off-heap %,d MB, full GC %.0f ms, lookup %.0f ns%n",
+                title, count, Math.max(0, heapBytes) >> 20, offHeapBytes >> 20, fullGcMillis, lookupNanos);
+    }
+
+    private static long usedHeapAfterGc() {
+        System.gc();
+        long used = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) used += pool.getUsage().getUsed();
+        }
+        return used;
+    }
+}
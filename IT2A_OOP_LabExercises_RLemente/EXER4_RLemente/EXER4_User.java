@@ -2,20 +2,42 @@ public class EXER4_User {
     protected String name;
     protected String username;
     protected String password;
+    protected String firstName;
+    protected String lastName;
 
     public EXER4_User(String name, String username, String password) {
-        this.name = name;
+        assignName(name);
         this.username = username;
         this.password = password;
     }
 
     // Polymorphism through method overloading
+    // A single string is kept whole (where a surname starts is unknown, e.g. "Juan Dela Cruz");
+    // use setName(first, last) when the parts are known
     public void setName(String name) {
-        this.name = name;
+        assignName(name);
+    }
+
+    // Not overridable, so the constructor is safe to call it
+    private void assignName(String name) {
+        this.name = EXER4_NameCache.shared().intern(name);
+        this.firstName = this.name;
+        this.lastName = "";
     }
 
     public void setName(String firstName, String lastName) {
-        this.name = firstName + " " + lastName;
+        EXER4_NameCache names = EXER4_NameCache.shared();
+        this.firstName = names.intern(firstName);
+        this.lastName = names.intern(lastName);
+        this.name = names.fullName(this.firstName, this.lastName);
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
     }
 
     // Overridden by subclasses
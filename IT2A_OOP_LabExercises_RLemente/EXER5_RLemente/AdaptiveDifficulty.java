@@ -0,0 +1,99 @@
+import java.util.Random;
+
+/**
+ * Picks the next problem from how the player is doing.
+ *
+ * For every operator it keeps an EWMA of accuracy and response time and an
+ * operand "level" (a fraction of the difficulty's max). Each answer is an O(1)
+ * update: the level steps up after quick correct answers and down after misses,
+ * and operators with low accuracy or slow answers are picked more often.
+ */
+public class AdaptiveDifficulty {
+    private static final double ALPHA = 0.3;           // EWMA weight of the newest answer
+    private static final double START_ACCURACY = 0.7;
+    private static final double MIN_LEVEL = 0.2, MAX_LEVEL = 1.0, START_LEVEL = 0.5;
+    private static final double LEVEL_UP = 0.1, LEVEL_DOWN = 0.15;
+    private static final double BASE_WEIGHT = 0.2;     // every operator still shows up sometimes
+
+    private final int difficultyMax;
+    private final int timeLimitMillis;
+    private final String[] operators;
+    private final double[] accuracy;
+    private final double[] responseMillis;
+    private final double[] level;
+    private final double[] weights;
+    private final DigitPoolBuilder pools = new DigitPoolBuilder();
+
+    public AdaptiveDifficulty(int difficultyMax, int timeLimitMillis) {
+        this.difficultyMax = difficultyMax;
+        this.timeLimitMillis = timeLimitMillis;
+        this.operators = ProblemEngine.operatorsFor(difficultyMax);
+        this.accuracy = new double[operators.length];
+        this.responseMillis = new double[operators.length];
+        this.level = new double[operators.length];
+        this.weights = new double[operators.length];
+        for (int i = 0; i < operators.length; i++) {
+            accuracy[i] = START_ACCURACY;
+            responseMillis[i] = timeLimitMillis / 2.0;
+            level[i] = START_LEVEL;
+        }
+    }
+
+    public int getDifficultyMax() { return difficultyMax; }
+
+    /** Records one answer (a time-out counts as wrong with the full time) */
+    public void record(String operator, boolean correct, int millis) {
+        int op = indexOf(operator);
+        if (op < 0) return;
+
+        accuracy[op] += ALPHA * ((correct ? 1.0 : 0.0) - accuracy[op]);
+        responseMillis[op] += ALPHA * (Math.min(millis, timeLimitMillis) - responseMillis[op]);
+
+        // Quick and right: harder operands; wrong: easier ones
+        if (correct && millis < timeLimitMillis / 2) {
+            level[op] = Math.min(MAX_LEVEL, level[op] + LEVEL_UP);
+        } else if (!correct) {
+            level[op] = Math.max(MIN_LEVEL, level[op] - LEVEL_DOWN);
+        }
+    }
+
+    /** Next problem, weighted toward the player's weakest operators */
+    public ArithmeticProblem next(Random random) {
+        double total = 0;
+        for (int i = 0; i < operators.length; i++) {
+            double slowness = Math.min(1.0, responseMillis[i] / timeLimitMillis);
+            weights[i] = BASE_WEIGHT + (1.0 - accuracy[i]) + 0.5 * slowness;
+            total += weights[i];
+        }
+
+        double pick = random.nextDouble() * total;
+        int op = operators.length - 1;
+        for (int i = 0; i < operators.length; i++) {
+            pick -= weights[i];
+            if (pick < 0) {
+                op = i;
+                break;
+            }
+        }
+
+        int operandMax = Math.max(2, (int) Math.round(level[op] * difficultyMax));
+        return ProblemEngine.generate(operators[op], operandMax, difficultyMax <= 10, random, pools);
+    }
+
+    public double getAccuracy(String operator) {
+        int op = indexOf(operator);
+        return op < 0 ? Double.NaN : accuracy[op];
+    }
+
+    public double getLevel(String operator) {
+        int op = indexOf(operator);
+        return op < 0 ? Double.NaN : level[op];
+    }
+
+    private int indexOf(String operator) {
+        for (int i = 0; i < operators.length; i++) {
+            if (operators[i].equals(operator)) return i;
+        }
+        return -1;
+    }
+}
@@ -1,6 +1,9 @@
 import java.awt.*;
 import java.awt.event.*;
 import java.awt.geom.AffineTransform; // FIX: Added missing import for AffineTransform
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.*;
 import java.util.List;
 import javax.swing.*;
@@ -12,6 +15,9 @@ public class ArithmeticGame extends JFrame implements ActionListener {
     private static final String GAME_CARD = "GAME";
     private static final String RESULTS_CARD = "RESULTS";
 
+    private static final int[] DIFFICULTY_MAX_VALUES = {10, 50, 100};
+    private static final int TIME_LIMIT_SECONDS = 15;
+
     // --- Colors & Fonts (Balanced Palette) ---
     private static final Color PRIMARY_BLUE = new Color(79, 114, 205);
     private static final Color PRIMARY_ORANGE = new Color(255, 128, 0);
@@ -24,6 +30,7 @@ public class ArithmeticGame extends JFrame implements ActionListener {
     private static final Color DANGER_RED = new Color(211, 47, 47);
     private static final Color ACCENT_TEAL = new Color(0, 131, 143);
     private static final Color PURPLE_ACCENT = new Color(94, 53, 177);
+    private static final Color TILE_PANEL_BACKGROUND = PALE_BLUE.brighter();
 
     private final Font TITLE_FONT = new Font("Impact", Font.BOLD, 75);
     private final Font HEADER_FONT = new Font("Verdana", Font.BOLD, 32);
@@ -34,29 +41,46 @@ public class ArithmeticGame extends JFrame implements ActionListener {
     // --- Core UI Components ---
     private final CardLayout cardLayout;
     private final JPanel cardPanel;
-    private JLabel problemLabel, scoreLabel, feedbackLabel, resultsMessageLabel, timerLabel;
-    private JTextField answerField, itemCountField;
+    private JLabel problemLabel, scoreLabel, feedbackLabel, timerLabel;
+    private JLabel totalPointsLabel, finalScoreLabel, highScoreLabel;
+    private JScrollPane resultsScroll;
+    private final ResultsListModel resultsModel =
+            new ResultsListModel(SUCCESS_GREEN, DANGER_RED, WARNING_YELLOW.darker());
+    private JTextField answerField, itemCountField, playerNameField;
     private JPanel digitContainerPanel;
-    private List<JButton> digitButtons;
+    private DigitTilePool digitTiles;
     private JProgressBar progressBar;
     private JButton hintButton;
 
     // --- Game State ---
-    private int score = 0, totalItems, currentProblemIndex, correctAnswer, difficultyMax;
-    private String operator;
-    private int hintsRemaining = 0;
-    private final Random random = new Random();
-    private final List<Integer> correctAnswersList = new ArrayList<>();
-    private final List<Integer> userAnswersList = new ArrayList<>();
-
-    private javax.swing.Timer countdownTimer;
+    private int totalItems, correctAnswer, difficultyMax;
+    private final ProblemEngine problemEngine = new ProblemEngine(System.nanoTime());
+    private GameSession game; // scoring, streak and hints live here (shared with GameSimulator)
+    private long problemShownAt;
+
+    // Adaptive practice: per player and difficulty, kept while the game is open
+    private JCheckBox adaptiveCheckBox;
+    private final Map<String, AdaptiveDifficulty> adaptiveByPlayer = new HashMap<>();
+    private final Random adaptiveRandom = new Random();
+    private AdaptiveDifficulty adaptive; // null when playing a normal pre-generated session
+    private PlayerHistoryStore historyStore; // null if the history folder cannot be used
+
+    // One clock for all delayed actions; everything is tagged with the current session
+    private final GameClock gameClock = new GameClock(50);
+    private GameClock.Action countdownTimer;
+    private int sessionId = 0;
     private int timeLeft;
-    private int streak = 0;
+
+    // Every handler and clock callback is timed by EdtMonitor (see -Dedt.monitor=true)
+    private final ActionListener gameActions = EdtMonitor.wrap(this);
 
     // --- Custom Gradient Panel ---
     class GradientPanel extends JPanel {
         protected final Color colorStart, colorEnd;
         protected final boolean isRadial;
+
+        // Background is rendered once per size and then just copied on repaint
+        private BufferedImage backgroundCache;
         
         public GradientPanel(Color start, Color end, boolean radial) { 
             this.colorStart = start; 
@@ -67,9 +91,28 @@ public class ArithmeticGame extends JFrame implements ActionListener {
         @Override
         protected void paintComponent(Graphics g) {
             super.paintComponent(g);
-            Graphics2D g2d = (Graphics2D) g;
-            g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
             int w = getWidth(), h = getHeight();
+            if (w <= 0 || h <= 0) return;
+
+            if (backgroundCache == null || backgroundCache.getWidth() != w || backgroundCache.getHeight() != h) {
+                if (backgroundCache != null) backgroundCache.flush();
+                GraphicsConfiguration gc = getGraphicsConfiguration();
+                backgroundCache = (gc != null)
+                        ? gc.createCompatibleImage(w, h)
+                        : new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+                Graphics2D cacheGraphics = backgroundCache.createGraphics();
+                try {
+                    renderBackground(cacheGraphics, w, h);
+                } finally {
+                    cacheGraphics.dispose();
+                }
+            }
+            g.drawImage(backgroundCache, 0, 0, null);
+        }
+
+        /** Draws the background into the cache; only called when the size changes */
+        protected void renderBackground(Graphics2D g2d, int w, int h) {
+            g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
             
             if (isRadial) {
                 // Radial gradient 
@@ -118,33 +161,18 @@ public class ArithmeticGame extends JFrame implements ActionListener {
                 symbols.add(s);
             }
         }
-        
-        @Override
-        public void setSize(int w, int h) {
-            super.setSize(w, h);
-            // Regenerate positions when the size changes
-            for(Symbol s : symbols) {
-                s.x = rand.nextInt(w);
-                s.y = rand.nextInt(h);
-            }
-        }
 
         @Override
-        protected void paintComponent(Graphics g) {
-            super.paintComponent(g); // Draw the gradient background first
+        protected void renderBackground(Graphics2D g2d, int w, int h) {
+            super.renderBackground(g2d, w, h); // Draw the gradient background first
             
-            Graphics2D g2d = (Graphics2D) g;
             g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
             g2d.setFont(SYMBOL_FONT);
-            
-            int w = getWidth(), h = getHeight();
-            
-            // Recalculate positions if dimensions are known but positions are not set
-            if(symbols.isEmpty() || (w > 0 && h > 0 && symbols.get(0).x == 0 && symbols.get(0).y == 0)) {
-                 for(Symbol s : symbols) {
-                    s.x = rand.nextInt(w);
-                    s.y = rand.nextInt(h);
-                }
+
+            // Only called when the size changes, so spread the symbols over the new area
+            for (Symbol s : symbols) {
+                s.x = rand.nextInt(w);
+                s.y = rand.nextInt(h);
             }
 
             for (Symbol s : symbols) {
@@ -183,6 +211,13 @@ public class ArithmeticGame extends JFrame implements ActionListener {
         cardPanel.add(createGamePanel(), GAME_CARD);
         cardPanel.add(createResultsPanel(), RESULTS_CARD);
 
+        // Prepare the first session of every difficulty while the player reads the menu
+        for (int max : DIFFICULTY_MAX_VALUES) problemEngine.prefetch(max);
+
+        gameClock.useSwingDriver();
+        EdtMonitor.installIfEnabled();
+        openHistoryStore();
+
         cardLayout.show(cardPanel, WELCOME_CARD);
         setVisible(true);
     }
@@ -200,8 +235,7 @@ public class ArithmeticGame extends JFrame implements ActionListener {
         return button;
     }
 
-    private JButton styleDigitButton(String text, Color bg) {
-        JButton button = new JButton(text);
+    private JButton styleDigitButton(JButton button, Color bg) {
         button.setFont(new Font("Monospaced", Font.BOLD, 30));
         button.setBackground(bg);
         button.setForeground(Color.WHITE);
@@ -211,8 +245,7 @@ public class ArithmeticGame extends JFrame implements ActionListener {
                 BorderFactory.createLineBorder(Color.BLACK, 2, true),
                 BorderFactory.createLineBorder(bg.brighter(), 3, true)
         ));
-        button.setActionCommand("DIGIT_" + text);
-        button.addActionListener(this);
+        button.addActionListener(gameActions);
         return button;
     }
 
@@ -240,7 +273,7 @@ public class ArithmeticGame extends JFrame implements ActionListener {
         // --- Button Area ---
         JButton startButton = styleButton(new JButton("START CHALLENGE"), SUCCESS_GREEN.darker());
         startButton.setFont(new Font("Arial", Font.BOLD, 28));
-        startButton.addActionListener(e -> cardLayout.show(cardPanel, MODE_CARD));
+        startButton.addActionListener(EdtMonitor.wrap("showModes", e -> cardLayout.show(cardPanel, MODE_CARD)));
 
         JPanel buttonPanel = new JPanel(); 
         buttonPanel.setOpaque(false); // Make transparent to see the symbols
@@ -277,11 +310,29 @@ public class ArithmeticGame extends JFrame implements ActionListener {
         itemCountField.setBorder(BorderFactory.createLineBorder(ACCENT_TEAL, 3, true));
         itemPanel.add(itemCountField); 
         panel.add(itemPanel); 
+
+        // Player Name Input (used for the history and leaderboard)
+        JPanel namePanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 5));
+        namePanel.setOpaque(false);
+        JLabel nameLabel = new JLabel("Player Name:");
+        nameLabel.setFont(new Font("Arial", Font.BOLD, 17));
+        namePanel.add(nameLabel);
+        playerNameField = new JTextField("Player", 10);
+        playerNameField.setFont(new Font("Arial", Font.PLAIN, 18));
+        playerNameField.setBorder(BorderFactory.createLineBorder(ACCENT_TEAL, 3, true));
+        namePanel.add(playerNameField);
+        panel.add(namePanel);
+
+        adaptiveCheckBox = new JCheckBox("Adaptive practice (focus on weak operations)");
+        adaptiveCheckBox.setFont(new Font("Arial", Font.BOLD, 15));
+        adaptiveCheckBox.setOpaque(false);
+        adaptiveCheckBox.setAlignmentX(Component.CENTER_ALIGNMENT);
+        panel.add(adaptiveCheckBox);
         panel.add(Box.createRigidArea(new Dimension(0, 30)));
 
         String[] difficulties = {"EASY (0-10, + / -)", "MEDIUM (0-50, All Ops)", "HARD (0-100, All Ops)"};
         Color[] difficultyColors = {SUCCESS_GREEN, PRIMARY_ORANGE.darker(), DANGER_RED};
-        int[] maxValues = {10, 50, 100};
+        int[] maxValues = DIFFICULTY_MAX_VALUES;
 
         // Difficulty Buttons with specific colors
         for (int i = 0; i < difficulties.length; i++) {
@@ -290,7 +341,7 @@ public class ArithmeticGame extends JFrame implements ActionListener {
             button.setMaximumSize(new Dimension(350, 55));
             final int currentMax = maxValues[i];
             
-            button.addActionListener(e -> startGame(currentMax));
+            button.addActionListener(EdtMonitor.wrap("startGame", e -> startGame(currentMax)));
             
             panel.add(button); 
             panel.add(Box.createRigidArea(new Dimension(0, 20)));
@@ -323,10 +374,10 @@ public class ArithmeticGame extends JFrame implements ActionListener {
             BorderFactory.createLineBorder(DANGER_RED, 1, true),
             BorderFactory.createEmptyBorder(8, 10, 8, 10)
         ));
-        cancel.addActionListener(e -> {
-            if (countdownTimer != null) countdownTimer.stop();
+        cancel.addActionListener(EdtMonitor.wrap("cancel", e -> {
+            endSession();
             cardLayout.show(cardPanel, MODE_CARD);
-        });
+        }));
         header.add(cancel, BorderLayout.WEST);
 
         scoreLabel = new JLabel("Item 1 / ?", SwingConstants.CENTER); 
@@ -389,8 +440,10 @@ public class ArithmeticGame extends JFrame implements ActionListener {
 
         // Digit Container - Light Blue Panel
         digitContainerPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 10)); 
-        digitContainerPanel.setBackground(PALE_BLUE.brighter()); 
+        digitContainerPanel.setBackground(TILE_PANEL_BACKGROUND); 
         digitContainerPanel.setBorder(BorderFactory.createEmptyBorder(20,15,20,15));
+        // Tiles are created once here and re-bound for every problem
+        digitTiles = new DigitTilePool(digitContainerPanel, DigitPoolBuilder.POOL_SIZE, b -> styleDigitButton(b, PURPLE_ACCENT));
         footer.add(digitContainerPanel, BorderLayout.CENTER);
 
         JPanel controlPanel = createControlPanel(); 
@@ -406,20 +459,20 @@ public class ArithmeticGame extends JFrame implements ActionListener {
         
         JButton reset = styleButton(new JButton("RESET"), WARNING_YELLOW.darker()); 
         reset.setActionCommand("RESET"); 
-        reset.addActionListener(this);
+        reset.addActionListener(gameActions);
         
         JButton submit = styleButton(new JButton("SUBMIT"), SUCCESS_GREEN); 
         submit.setActionCommand("ENT"); 
-        submit.addActionListener(this);
+        submit.addActionListener(gameActions);
         
         // Hint button setup - Deep Purple
         hintButton = styleButton(new JButton("HINT (3)"), PURPLE_ACCENT); 
         hintButton.setActionCommand("HINT"); 
-        hintButton.addActionListener(this);
+        hintButton.addActionListener(gameActions);
         
         JButton shuffle = styleButton(new JButton("SHUFFLE"), ACCENT_TEAL); 
         shuffle.setActionCommand("SHUFFLE"); 
-        shuffle.addActionListener(this);
+        shuffle.addActionListener(gameActions);
 
         control.add(reset); 
         control.add(submit); 
@@ -435,15 +488,48 @@ public class ArithmeticGame extends JFrame implements ActionListener {
         panel.setLayout(new BorderLayout()); 
         panel.setBorder(BorderFactory.createEmptyBorder(30, 30, 30, 30));
         
-        resultsMessageLabel = new JLabel("", SwingConstants.CENTER); 
-        resultsMessageLabel.setVerticalAlignment(SwingConstants.TOP);
-        panel.add(resultsMessageLabel, BorderLayout.CENTER);
+        // Summary labels are filled in by endGame; item rows are added as answers come in
+        JPanel summary = new JPanel();
+        summary.setLayout(new BoxLayout(summary, BoxLayout.Y_AXIS));
+        summary.setOpaque(false);
+
+        JLabel complete = new JLabel("🎉 CHALLENGE COMPLETE!", SwingConstants.CENTER);
+        complete.setFont(new Font("Verdana", Font.BOLD, 22));
+        complete.setForeground(new Color(0x11, 0x11, 0x11));
+        totalPointsLabel = new JLabel("Total Points: 0", SwingConstants.CENTER);
+        totalPointsLabel.setFont(new Font("Verdana", Font.BOLD, 16));
+        finalScoreLabel = new JLabel("0 / 0", SwingConstants.CENTER);
+        finalScoreLabel.setFont(new Font("Verdana", Font.BOLD, 34));
+        highScoreLabel = new JLabel(" ", SwingConstants.CENTER);
+        highScoreLabel.setFont(new Font("Verdana", Font.ITALIC, 14));
+        highScoreLabel.setForeground(PURPLE_ACCENT);
+        for (JLabel label : new JLabel[]{complete, totalPointsLabel, finalScoreLabel, highScoreLabel}) {
+            label.setAlignmentX(Component.CENTER_ALIGNMENT);
+            summary.add(label);
+            summary.add(Box.createRigidArea(new Dimension(0, 8)));
+        }
+
+        JList<ResultsListModel.Row> resultsList = new JList<>(resultsModel);
+        resultsList.setCellRenderer(new ResultsListModel.RowRenderer());
+        resultsList.setFont(new Font("Verdana", Font.PLAIN, 14));
+        resultsList.setBackground(new Color(0xF7, 0xF7, 0xF7));
+        resultsList.setFocusable(false);
+        resultsList.setFixedCellHeight(22); // no per-row measuring
+
+        resultsScroll = new JScrollPane(resultsList);
+        resultsScroll.setBorder(BorderFactory.createLineBorder(SUCCESS_GREEN, 4, true));
+
+        JPanel center = new JPanel(new BorderLayout(0, 10));
+        center.setOpaque(false);
+        center.add(summary, BorderLayout.NORTH);
+        center.add(resultsScroll, BorderLayout.CENTER);
+        panel.add(center, BorderLayout.CENTER);
 
         JPanel btnPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 20, 10));
         btnPanel.setOpaque(false);
         
         JButton playAgain = styleButton(new JButton("PLAY AGAIN"), SUCCESS_GREEN);
-        playAgain.addActionListener(e -> cardLayout.show(cardPanel, MODE_CARD));
+        playAgain.addActionListener(EdtMonitor.wrap("showModes", e -> cardLayout.show(cardPanel, MODE_CARD)));
         
         JButton exitGame = styleButton(new JButton("EXIT GAME"), DANGER_RED);
         exitGame.addActionListener(e -> System.exit(0));
@@ -462,17 +548,21 @@ public class ArithmeticGame extends JFrame implements ActionListener {
             totalItems = Math.min(30, Math.max(3, items));
         } catch (NumberFormatException ex) { totalItems = 10; }
         
+        endSession();
         difficultyMax = max; 
-        score = 0; 
-        currentProblemIndex = 0; 
-        streak = 0;
-        hintsRemaining = 3; 
+        game = new GameSession(problemEngine.takeSession(difficultyMax, totalItems), GameSession.DEFAULT_HINTS);
+        resultsModel.clear();
+
+        adaptive = null;
+        if (adaptiveCheckBox.isSelected()) {
+            adaptive = adaptiveByPlayer.computeIfAbsent(playerName() + "|" + max,
+                    k -> new AdaptiveDifficulty(max, TIME_LIMIT_SECONDS * 1000));
+            game.setProblem(0, adaptive.next(adaptiveRandom));
+        }
         
-        hintButton.setText("HINT (" + hintsRemaining + ")");
+        hintButton.setText("HINT (" + game.getHintsRemaining() + ")");
         hintButton.setEnabled(true);
 
-        correctAnswersList.clear(); 
-        userAnswersList.clear();
         progressBar.setMaximum(totalItems);
         
         generateProblem(); 
@@ -481,91 +571,28 @@ public class ArithmeticGame extends JFrame implements ActionListener {
     }
 
    private void generateProblem() {
-        scoreLabel.setText(String.format("Item %d / %d", currentProblemIndex + 1, totalItems));
-        progressBar.setValue(currentProblemIndex);
+        scoreLabel.setText(String.format("Item %d / %d", game.getIndex() + 1, totalItems));
+        progressBar.setValue(game.getIndex());
         answerField.setText("");
         feedbackLabel.setText("Click the tiles to build the answer.");
 
-        int max = difficultyMax, min = 1;
-        int op1 = random.nextInt(max) + min, op2 = random.nextInt(max) + min;
-
-        if (max <= 10) {
-            operator = random.nextBoolean() ? "+" : "-";
-            if (operator.equals("-") && op1 < op2) {
-                int t = op1;
-                op1 = op2;
-                op2 = t;
-            }
-        } else {
-            // ✅ Added "%" operator here
-            String[] ops = {"+", "-", "*", "/", "%"};
-            operator = ops[random.nextInt(5)];
-        }
-
-        switch (operator) {
-            case "+":
-                correctAnswer = op1 + op2;
-                break;
-            case "-":
-                correctAnswer = op1 - op2;
-                break;
-            case "*":
-                correctAnswer = op1 * op2;
-                break;
-            case "/":
-                if (op2 == 0) op2 = 1;
-                correctAnswer = op1 / op2;
-                op1 = correctAnswer * op2;
-                break;
-            case "%":
-                if (op2 == 0) op2 = 1;
-                correctAnswer = op1 % op2;
-                break;
-        }
-
-
-        problemLabel.setText(String.format("%d %s %d",op1,operator,op2));
-
-        // Digit Puzzle setup
-        List<Integer> requiredDigits = new ArrayList<>();
-        for(char c:String.valueOf(Math.abs(correctAnswer)).toCharArray()) requiredDigits.add(Character.getNumericValue(c));
-        
-        if (correctAnswer != 0 && !requiredDigits.contains(0) && requiredDigits.size() < 4) {
-             requiredDigits.add(0);
-        }
-        
-        List<Integer> pool = new ArrayList<>(requiredDigits);
-        int distractors = 10 - requiredDigits.size();
-        for(int i = 0; i < distractors; i++) {
-            int d; 
-            do {
-                d = random.nextInt(10);
-            } while(pool.contains(d)); 
-            pool.add(d);
-        }
-        
-        Collections.shuffle(pool); 
-        setupDigitButtons(pool);
+        // Problems are pre-generated by the ProblemEngine; this is just an array read
+        ArithmeticProblem problem = game.current();
+        correctAnswer = problem.getAnswer();
+        problemLabel.setText(problem.getText());
+        setupDigitButtons(problem.getDigitPool());
+        problemShownAt = System.currentTimeMillis();
     }
 
-    private void setupDigitButtons(List<Integer> pool) {
-        digitContainerPanel.removeAll(); 
-        digitButtons = new ArrayList<>();
-        for(int d: pool){ 
-            // Use PURPLE_ACCENT for buttons
-            JButton b = styleDigitButton(""+d, PURPLE_ACCENT); 
-            digitButtons.add(b); 
-            digitContainerPanel.add(b); 
-        }
-        digitContainerPanel.revalidate(); 
-        digitContainerPanel.repaint();
+    private void setupDigitButtons(int[] pool) {
+        digitTiles.bind(pool);
     }
 
     @Override
     public void actionPerformed(ActionEvent e) {
         String cmd = e.getActionCommand();
-        if(cmd.startsWith("DIGIT_")){
-            String digit = cmd.substring(6);
+        if(cmd.startsWith(DigitTilePool.COMMAND_PREFIX)){
+            String digit = cmd.substring(DigitTilePool.COMMAND_PREFIX.length());
             if(answerField.getText().length() < 4){ 
                 answerField.setText(answerField.getText() + digit); 
                 ((JButton)e.getSource()).setEnabled(false); 
@@ -574,7 +601,7 @@ public class ArithmeticGame extends JFrame implements ActionListener {
             else feedbackLabel.setText("Answer is 4 digits max. Press SUBMIT or RESET.");
         } else if(cmd.equals("RESET")){
             answerField.setText(""); 
-            for(JButton b:digitButtons) b.setEnabled(true); 
+            digitTiles.enableAll(); 
             feedbackLabel.setText("Puzzle tiles have been reset.");
         } else if(cmd.equals("ENT")) submitAnswer();
         else if(cmd.equals("HINT")) giveHint();
@@ -584,42 +611,34 @@ public class ArithmeticGame extends JFrame implements ActionListener {
     private void submitAnswer(){
         String input = answerField.getText(); 
         if(input.isEmpty()){ feedbackLabel.setText("Place digits to form an answer."); return; }
+        if(game.isCurrentAnswered()) return; // already submitted or timed out
         
-        if (countdownTimer != null && countdownTimer.isRunning()) {
-            countdownTimer.stop();
-        }
+        if (countdownTimer != null) countdownTimer.cancel();
         
         try{
             int user = Integer.parseInt(input); 
-            userAnswersList.add(user); 
-            correctAnswersList.add(correctAnswer);
+            int millis = (int) (System.currentTimeMillis() - problemShownAt);
+            int points = game.submit(user, millis);
+            if (adaptive != null) adaptive.record(game.current().getOperator(), user == correctAnswer, millis);
+            resultsModel.addResult(game, game.getIndex());
             
             if(user == correctAnswer){ 
-                int points = (streak > 1 ? streak : 1);
-                score += points; 
-                streak++; 
                 feedbackLabel.setText("✅ Correct! +" + points + " points!"); 
                 flashBackground(LIME_GREEN.brighter()); 
             } else { 
-                streak = 0; 
                 feedbackLabel.setText("❌ Incorrect. Correct Answer: " + correctAnswer); 
                 flashBackground(DANGER_RED.brighter()); 
             }
             disableDigitButtons();
             
-            javax.swing.Timer t = new javax.swing.Timer(1500, e -> {
-                ((javax.swing.Timer)e.getSource()).stop(); 
-                nextOrEnd();
-            }); 
-            t.setRepeats(false); 
-            t.start();
+            gameClock.schedule(sessionId, 1500, EdtMonitor.wrap("nextOrEnd", this::nextOrEnd));
         } catch(NumberFormatException ex){ 
             feedbackLabel.setText("Error reading input. Press RESET and try again."); 
         }
     }
 
     private void giveHint(){
-        if (hintsRemaining <= 0) {
+        if (game.getHintsRemaining() <= 0) {
             feedbackLabel.setText("🚫 No hints remaining! You're on your own, Whiz!");
             hintButton.setEnabled(false);
             return;
@@ -633,19 +652,14 @@ public class ArithmeticGame extends JFrame implements ActionListener {
                 char nextDigitChar = ans.charAt(i);
                 answerField.setText(answerField.getText() + nextDigitChar);
                 
-                for(JButton b : digitButtons){ 
-                    if(b.getText().equals("" + nextDigitChar) && b.isEnabled()){
-                        b.setEnabled(false); 
-                        hintApplied = true;
-                        break;
-                    }
-                }
+                hintApplied = digitTiles.disableFirst(nextDigitChar - '0');
                 break;
             }
         }
         
         if (hintApplied) {
-            hintsRemaining--;
+            game.useHint();
+            int hintsRemaining = game.getHintsRemaining();
             hintButton.setText("HINT (" + hintsRemaining + ")");
             feedbackLabel.setText("💡 Hint used! " + hintsRemaining + " remaining.");
             if (hintsRemaining == 0) {
@@ -657,70 +671,43 @@ public class ArithmeticGame extends JFrame implements ActionListener {
     }
 
     private void shuffleTiles(){
-        List<String> currentDigits = new ArrayList<>();
-        for (JButton b : digitButtons) {
-            if (b.isEnabled()) {
-                currentDigits.add(b.getText());
-            }
-        }
-
-        Collections.shuffle(currentDigits); 
-
-        List<JButton> newDigitButtons = new ArrayList<>();
-        
-        for (String digit : currentDigits) {
-            JButton b = digitButtons.stream()
-                                    .filter(btn -> btn.getText().equals(digit) && btn.isEnabled())
-                                    .findFirst()
-                                    .orElse(null);
-            if (b != null) {
-                newDigitButtons.add(b);
-            }
-        }
-
-        for (JButton b : digitButtons) {
-            if (!b.isEnabled() && !newDigitButtons.contains(b)) {
-                newDigitButtons.add(b);
-            }
-        }
-        
-        digitButtons = newDigitButtons;
-        digitContainerPanel.removeAll();
-        for(JButton b: digitButtons) digitContainerPanel.add(b);
-        digitContainerPanel.revalidate(); 
-        digitContainerPanel.repaint();
+        // Only the tile labels move; no components are removed or re-added
+        digitTiles.shuffleEnabled();
         feedbackLabel.setText("🔀 Tiles shuffled!");
     }
 
-    private void disableDigitButtons(){ for(JButton b:digitButtons) b.setEnabled(false); }
+    private void disableDigitButtons(){ digitTiles.disableAll(); }
 
     private void flashBackground(Color c){
-        Color original = digitContainerPanel.getBackground(); 
         digitContainerPanel.setBackground(c);
-        
-        javax.swing.Timer t = new javax.swing.Timer(300, e -> {
-            ((javax.swing.Timer)e.getSource()).stop(); 
-            digitContainerPanel.setBackground(original);
-        }); 
-        t.setRepeats(false); 
-        t.start();
+        gameClock.schedule(sessionId, 300, EdtMonitor.wrap("flashReset",
+                () -> digitContainerPanel.setBackground(TILE_PANEL_BACKGROUND)));
+    }
+
+    /** Drops every pending action of the current game and starts a new session id */
+    private void endSession() {
+        gameClock.cancelSession(sessionId);
+        sessionId++;
+        countdownTimer = null;
+        digitContainerPanel.setBackground(TILE_PANEL_BACKGROUND);
     }
 
     private void nextOrEnd(){
-        currentProblemIndex++; 
-        if(currentProblemIndex >= totalItems) endGame(); 
-        else { generateProblem(); startTimer(); }
+        if(game.advance()) {
+            if (adaptive != null) game.setProblem(game.getIndex(), adaptive.next(adaptiveRandom));
+            generateProblem();
+            startTimer();
+        }
+        else endGame(); 
     }
 
     private void startTimer() {
-        timeLeft = 15; 
+        timeLeft = TIME_LIMIT_SECONDS; 
         timerLabel.setText("Time: " + timeLeft + "s");
 
-        if (countdownTimer != null && countdownTimer.isRunning()) {
-            countdownTimer.stop();
-        }
+        if (countdownTimer != null) countdownTimer.cancel();
 
-        countdownTimer = new javax.swing.Timer(1000, e -> {
+        countdownTimer = gameClock.scheduleRepeating(sessionId, 1000, EdtMonitor.wrap("countdown", () -> {
             timeLeft--;
             timerLabel.setText("Time: " + timeLeft + "s");
             // Flash red on low time
@@ -731,83 +718,65 @@ public class ArithmeticGame extends JFrame implements ActionListener {
             }
 
             if (timeLeft <= 0) {
-                countdownTimer.stop();
+                countdownTimer.cancel();
                 
-                userAnswersList.add(0); 
-                correctAnswersList.add(correctAnswer);
+                game.timeOut((int) (System.currentTimeMillis() - problemShownAt));
+                if (adaptive != null) adaptive.record(game.current().getOperator(), false, TIME_LIMIT_SECONDS * 1000);
+                resultsModel.addResult(game, game.getIndex());
 
                 feedbackLabel.setText("⏳ Time's up! The correct answer was: " + correctAnswer);
                 disableDigitButtons();
                 
-                javax.swing.Timer delay = new javax.swing.Timer(1500, ev -> {
-                    ((javax.swing.Timer) ev.getSource()).stop();
-                    nextOrEnd();
-                });
-                delay.setRepeats(false);
-                delay.start();
+                gameClock.schedule(sessionId, 1500, EdtMonitor.wrap("nextOrEnd", this::nextOrEnd));
             }
-        });
-        countdownTimer.start();
+        }));
     }
 
     private void endGame() {
-        if (countdownTimer != null && countdownTimer.isRunning()) {
-            countdownTimer.stop();
-        }
+        endSession();
 
-        int correctCount = 0;
-        StringBuilder detailHtml = new StringBuilder();
-        
-        detailHtml.append("<div style='text-align: left; font-size: 14px; color: #333; line-height: 1.6;'>");
+        // Item rows were already added as each answer came in; only the summary is left
+        int correctCount = resultsModel.getCorrectCount();
+        Color finalScoreColor = (correctCount >= totalItems / 2.0) ? SUCCESS_GREEN : DANGER_RED;
 
-        for (int i = 0; i < totalItems; i++) {
-            
-            int userA = userAnswersList.get(i);
-            int correctA = correctAnswersList.get(i);
-            
-            boolean isCorrect = (userA == correctA);
-            
-            String color = DANGER_RED.toString().replaceAll("java.awt.Color", "#").substring(1); 
-            String status = "";
-
-            if (!isCorrect && userA == 0) {
-                 status = "Timed Out (Ans: " + correctA + ")";
-                 color = WARNING_YELLOW.darker().toString().replaceAll("java.awt.Color", "#").substring(1); 
-            } else if (isCorrect) {
-                 status = "Correct";
-                 correctCount++;
-                 color = SUCCESS_GREEN.toString().replaceAll("java.awt.Color", "#").substring(1);
-            } else {
-                 status = "Incorrect (Ans: " + correctA + ")";
-                 color = DANGER_RED.toString().replaceAll("java.awt.Color", "#").substring(1);
-            }
+        totalPointsLabel.setText("Total Points: " + game.getScore());
+        finalScoreLabel.setText(correctCount + " / " + totalItems);
+        finalScoreLabel.setForeground(finalScoreColor);
+        resultsScroll.setBorder(BorderFactory.createLineBorder(finalScoreColor, 4, true));
+        saveToHistory();
 
-            String displayUserA = (userA == 0 && !isCorrect && correctA != 0) ? "-" : String.valueOf(userA);
+        cardLayout.show(cardPanel, RESULTS_CARD);
+    }
 
-            // Cleaned up result display
-            detailHtml.append(String.format(
-                "<span style='color: #%s;'>&#x2713;</span> Item %d: %s (%s)<br>",
-                color, i + 1, displayUserA, status 
-            ));
+    // =================== History & Leaderboard ===================
+    private void openHistoryStore() {
+        try {
+            historyStore = new PlayerHistoryStore(
+                    Paths.get(System.getProperty("user.home"), ".math-whiz"), PlayerHistoryStore.DEFAULT_TOP_K);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try { historyStore.close(); } catch (IOException ignored) { }
+            }));
+        } catch (IOException ex) {
+            System.err.println("Player history disabled: " + ex.getMessage());
+        }
+    }
+
+    private String playerName() {
+        String player = playerNameField.getText().trim();
+        return player.isEmpty() ? "Player" : player;
+    }
+
+    private void saveToHistory() {
+        highScoreLabel.setText(" ");
+        if (historyStore == null) return;
+
+        try {
+            historyStore.append(SessionRecord.from(playerName(), difficultyMax, game));
+            List<PlayerHistoryStore.Entry> top = historyStore.topScores(difficultyMax);
+            if (!top.isEmpty()) highScoreLabel.setText("🏆 High Score: " + top.get(0));
+        } catch (IOException ex) {
+            System.err.println("Could not save game history: " + ex.getMessage());
         }
-        detailHtml.append("</div>");
-
-        String finalScoreColor = (correctCount >= totalItems / 2.0) ? SUCCESS_GREEN.toString().replaceAll("java.awt.Color", "#").substring(1) : DANGER_RED.toString().replaceAll("java.awt.Color", "#").substring(1);
-
-        String htmlMessage = String.format(
-            "<html><p align='center' style='font-weight: bold; font-size: 1.5em; color: #111;'>🎉 CHALLENGE COMPLETE!</p>" +
-            "<p align='center' style='font-weight: bold;'>Total Points: %d</p>" +
-            "<p align='center'>Final Score: <span style='font-size: 2.2em; color: #%s;'>%d / %d</span></p>" +
-            "<br><div style='text-align: center; max-width: 350px; margin: auto; padding: 15px; border: 4px solid #%s; background-color: #f7f7f7; border-radius: 20px;'>%s</div></html>",
-            score,
-            finalScoreColor,
-            correctCount, totalItems,
-            finalScoreColor,
-            detailHtml.toString()
-        );
-
-        resultsMessageLabel.setText(htmlMessage);
-        cardLayout.show(cardPanel, RESULTS_CARD);
     }
 
     /** Main method to run the game */
@@ -0,0 +1,29 @@
+/** One generated problem: operands, operator, answer and its shuffled digit tiles */
+public final class ArithmeticProblem {
+    private final int op1, op2, answer;
+    private final String operator;
+    private String text; // built on first use; simulations never need it
+    private final int[] digitPool;
+
+    public ArithmeticProblem(int op1, String operator, int op2, int answer, int[] digitPool) {
+        this.op1 = op1;
+        this.op2 = op2;
+        this.operator = operator;
+        this.answer = answer;
+        this.digitPool = digitPool;
+    }
+
+    public int getOp1() { return op1; }
+    public int getOp2() { return op2; }
+    public String getOperator() { return operator; }
+    public int getAnswer() { return answer; }
+
+    /** Text shown on the problem label, e.g. "12 + 7" */
+    public String getText() {
+        if (text == null) text = op1 + " " + operator + " " + op2;
+        return text;
+    }
+
+    /** Digit tiles in display order (shared array, do not modify) */
+    public int[] getDigitPool() { return digitPool; }
+}
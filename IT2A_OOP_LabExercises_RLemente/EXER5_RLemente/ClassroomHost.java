@@ -0,0 +1,367 @@
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Classroom quiz host: every student plays the same problem set at the same time.
+ *
+ * One selector thread owns all sockets, player sessions and the leaderboard, so
+ * nothing is locked; the teacher's commands are queued to it and the selector is
+ * woken up. The protocol is one text line per message:
+ *
+ *   student -> host   JOIN name | ANSWER item value
+ *   host -> student   WELCOME id items | PROBLEM item text | RESULT item points score rank players
+ *                     BOARD line | END score rank | ERR reason
+ *
+ * Each player is scored by their own GameSession, so streak points work exactly
+ * like the single-player game; items a player skipped count as timed out.
+ */
+public class ClassroomHost implements Closeable {
+    public static final int DEFAULT_PORT = 5050;
+    private static final int BOARD_LINES = 5;
+    private static final int MAX_LINE = 256;
+    private static final int MAX_PENDING_WRITES = 64;   // a student this far behind is dropped
+
+    /** One connected student; only touched on the selector thread */
+    private static final class Player {
+        final SocketChannel channel;
+        final ArrayDeque<ByteBuffer> pending = new ArrayDeque<>();
+        byte[] line = new byte[64];
+        int lineLength = 0;
+        int id = -1;
+        GameSession session;
+        SelectionKey key;
+
+        Player(SocketChannel channel) {
+            this.channel = channel;
+        }
+    }
+
+    private final ArithmeticProblem[] problems;
+    private final ServerSocketChannel server;
+    private final Selector selector;
+    private final LiveLeaderboard leaderboard;
+    private final Queue<Runnable> commands = new ConcurrentLinkedQueue<>();
+    private final List<Player> players = new ArrayList<>();
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(16 * 1024);
+    private final Thread thread;
+    private volatile boolean running = true;
+    private volatile int playerCount = 0;
+    private int nextId = 1;
+    private volatile int currentItem = -1;   // written on the selector thread only
+    private long itemShownAt;
+
+    public ClassroomHost(int port, ArithmeticProblem[] problems) throws IOException {
+        this.problems = problems;
+        this.leaderboard = new LiveLeaderboard(ScoreDistribution.maxScore(problems.length));
+        this.selector = Selector.open();
+        this.server = ServerSocketChannel.open();
+        server.bind(new InetSocketAddress(port), 1024);
+        server.configureBlocking(false);
+        server.register(selector, SelectionKey.OP_ACCEPT);
+        this.thread = new Thread(this::run, "classroom-host");
+        thread.setDaemon(true);
+    }
+
+    public ClassroomHost start() {
+        thread.start();
+        return this;
+    }
+
+    public int getPort() { return server.socket().getLocalPort(); }
+    public int getPlayerCount() { return playerCount; }
+
+    // =================== Teacher commands ===================
+    /** Shows the next problem to every student; false if the set is used up */
+    public boolean nextProblem() {
+        if (currentItem + 1 >= problems.length) return false;
+        post(this::showNextProblem);
+        return true;
+    }
+
+    /** Ends the quiz: every student gets their final score and rank */
+    public void finish() {
+        post(this::finishQuiz);
+    }
+
+    /** Current top of the leaderboard, read on the selector thread */
+    public List<String> leaderboardTop(int n) {
+        CompletableFuture<List<String>> result = new CompletableFuture<>();
+        post(() -> result.complete(leaderboard.top(n)));
+        try {
+            return result.get(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Collections.emptyList();
+        } catch (ExecutionException | TimeoutException e) {
+            return Collections.emptyList();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        selector.wakeup();
+        try {
+            thread.join(2000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void post(Runnable command) {
+        commands.add(command);
+        selector.wakeup();
+    }
+
+    // =================== Selector loop ===================
+    private void run() {
+        try {
+            while (running) {
+                selector.select();
+                Runnable command;
+                while ((command = commands.poll()) != null) command.run();
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) continue;
+                    if (key.isAcceptable()) {
+                        accept();
+                    } else {
+                        Player player = (Player) key.attachment();
+                        if (key.isReadable()) read(player);
+                        if (key.isValid() && key.isWritable()) flush(player);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Classroom host stopped: " + e.getMessage());
+        } finally {
+            for (Player player : new ArrayList<>(players)) disconnect(player);
+            try {
+                server.close();
+                selector.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = server.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.socket().setTcpNoDelay(true);
+            Player player = new Player(channel);
+            player.key = channel.register(selector, SelectionKey.OP_READ, player);
+        }
+    }
+
+    private void read(Player player) {
+        readBuffer.clear();
+        int n;
+        try {
+            n = player.channel.read(readBuffer);
+        } catch (IOException e) {
+            n = -1;
+        }
+        if (n < 0) {
+            disconnect(player);
+            return;
+        }
+
+        readBuffer.flip();
+        while (readBuffer.hasRemaining() && player.key.isValid()) {
+            byte b = readBuffer.get();
+            if (b == '\n') {
+                int length = player.lineLength;
+                if (length > 0 && player.line[length - 1] == '\r') length--;
+                player.lineLength = 0;
+                handle(player, new String(player.line, 0, length, StandardCharsets.UTF_8));
+            } else if (player.lineLength == MAX_LINE) {
+                disconnect(player);
+            } else {
+                if (player.lineLength == player.line.length) player.line = Arrays.copyOf(player.line, MAX_LINE);
+                player.line[player.lineLength++] = b;
+            }
+        }
+    }
+
+    private void handle(Player player, String line) {
+        String[] parts = line.trim().split(" ", 3);
+        switch (parts[0]) {
+            case "JOIN":
+                join(player, parts.length > 1 ? line.trim().substring(5).trim() : "");
+                break;
+            case "ANSWER":
+                if (parts.length < 3) {
+                    send(player, "ERR usage: ANSWER item value");
+                    return;
+                }
+                try {
+                    answer(player, Integer.parseInt(parts[1]), Integer.parseInt(parts[2].trim()));
+                } catch (NumberFormatException e) {
+                    send(player, "ERR not a number");
+                }
+                break;
+            default:
+                send(player, "ERR unknown command");
+        }
+    }
+
+    // =================== Game rules ===================
+    private void join(Player player, String name) {
+        if (player.id >= 0) {
+            send(player, "ERR already joined");
+            return;
+        }
+        if (name.isEmpty()) name = "Player";
+
+        player.id = nextId++;
+        player.session = new GameSession(problems, 0);
+        players.add(player);
+        playerCount = players.size();
+        leaderboard.join(player.id, name);
+        send(player, "WELCOME " + player.id + " " + problems.length);
+        // Late joiners start on the problem everyone else is on
+        if (currentItem >= 0 && currentItem < problems.length) {
+            send(player, "PROBLEM " + currentItem + " " + problems[currentItem].getText());
+        }
+    }
+
+    private void answer(Player player, int item, int value) {
+        if (player.session == null) {
+            send(player, "ERR join first");
+            return;
+        }
+        if (item != currentItem) {
+            send(player, "ERR item " + item + " is not open");
+            return;
+        }
+
+        GameSession session = player.session;
+        catchUp(session, item);
+        if (session.isCurrentAnswered()) {
+            send(player, "ERR already answered");
+            return;
+        }
+
+        int millis = (int) ((System.nanoTime() - itemShownAt) / 1_000_000);
+        int points = session.submit(value, millis);
+        leaderboard.setScore(player.id, session.getScore());
+        send(player, "RESULT " + item + " " + points + " " + session.getScore() + " "
+                + leaderboard.rankOf(player.id) + " " + leaderboard.size());
+    }
+
+    /** Moves a player's session to {@code item}, timing out the items they skipped */
+    private static void catchUp(GameSession session, int item) {
+        while (session.getIndex() < item) {
+            if (!session.isCurrentAnswered()) session.timeOut();
+            session.advance();
+        }
+    }
+
+    private void showNextProblem() {
+        if (currentItem + 1 >= problems.length) return;
+        currentItem++;
+        itemShownAt = System.nanoTime();
+        if (currentItem > 0) broadcastBoard();
+        broadcast("PROBLEM " + currentItem + " " + problems[currentItem].getText());
+    }
+
+    private void finishQuiz() {
+        for (Player player : players) catchUp(player.session, problems.length);
+        broadcastBoard();
+        for (Player player : new ArrayList<>(players)) {
+            send(player, "END " + player.session.getScore() + " " + leaderboard.rankOf(player.id));
+        }
+        currentItem = problems.length;
+    }
+
+    private void broadcastBoard() {
+        for (String line : leaderboard.top(BOARD_LINES)) broadcast("BOARD " + line);
+    }
+
+    // =================== Output ===================
+    private void broadcast(String message) {
+        // Encoded once; every player gets its own view of the same bytes
+        ByteBuffer encoded = ByteBuffer.wrap((message + "\n").getBytes(StandardCharsets.UTF_8));
+        for (Player player : new ArrayList<>(players)) queue(player, encoded.duplicate());
+    }
+
+    private void send(Player player, String message) {
+        queue(player, ByteBuffer.wrap((message + "\n").getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private void queue(Player player, ByteBuffer data) {
+        if (!player.key.isValid()) return;
+        if (player.pending.size() >= MAX_PENDING_WRITES) {
+            disconnect(player);
+            return;
+        }
+        player.pending.add(data);
+        flush(player);
+    }
+
+    private void flush(Player player) {
+        try {
+            while (!player.pending.isEmpty()) {
+                ByteBuffer head = player.pending.peek();
+                player.channel.write(head);
+                if (head.hasRemaining()) break;   // socket buffer full, wait for OP_WRITE
+                player.pending.poll();
+            }
+        } catch (IOException e) {
+            disconnect(player);
+            return;
+        }
+        player.key.interestOps(player.pending.isEmpty()
+                ? SelectionKey.OP_READ : SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+    }
+
+    private void disconnect(Player player) {
+        player.key.cancel();
+        try {
+            player.channel.close();
+        } catch (IOException ignored) {
+        }
+        if (player.id >= 0 && players.remove(player)) {
+            leaderboard.leave(player.id);
+            playerCount = players.size();
+        }
+    }
+
+    // =================== Console host ===================
+    /**
+     * Usage: java ClassroomHost [port] [difficultyMax] [items]
+     * Press Enter to show the next problem, type "end" to finish the quiz.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        int max = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int items = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+        ProblemEngine engine = new ProblemEngine(System.nanoTime());
+        ArithmeticProblem[] problems = engine.takeSession(max, items);
+        engine.shutdown();
+
+        try (ClassroomHost host = new ClassroomHost(port, problems).start();
+             BufferedReader console = new BufferedReader(new InputStreamReader(System.in))) {
+            System.out.println("Classroom host on port " + host.getPort() + " (" + problems.length + " items)");
+            System.out.println("Press Enter for the next problem, type \"end\" to finish.");
+            String line;
+            while ((line = console.readLine()) != null) {
+                if (line.trim().equalsIgnoreCase("end") || !host.nextProblem()) break;
+                System.out.println(host.getPlayerCount() + " students connected");
+                for (String row : host.leaderboardTop(BOARD_LINES)) System.out.println("  " + row);
+            }
+            host.finish();
+            for (String row : host.leaderboardTop(BOARD_LINES)) System.out.println("  " + row);
+        }
+    }
+}
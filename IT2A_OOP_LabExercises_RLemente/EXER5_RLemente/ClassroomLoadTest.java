@@ -0,0 +1,221 @@
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load test for ClassroomHost: many simulated students on localhost.
+ *
+ * All students share one client selector thread. For every problem each student
+ * waits a random think time, sends an answer and measures the time until the
+ * RESULT line (already carrying the updated leaderboard rank) comes back.
+ * Usage: java ClassroomLoadTest [clients] [items] [thinkSpreadMillis]
+ */
+public class ClassroomLoadTest {
+    private static final long TARGET_MILLIS = 50;
+    private static final double ACCURACY = 0.8;
+
+    /** One simulated student connection */
+    private static final class Student {
+        final int number;
+        final SocketChannel channel;
+        final StringBuilder line = new StringBuilder();
+        long sentAt;
+
+        Student(int number, SocketChannel channel) {
+            this.number = number;
+            this.channel = channel;
+        }
+    }
+
+    /** An answer waiting for its think time to pass */
+    private static final class DueAnswer {
+        final Student student;
+        final long dueAt;
+        final String message;
+
+        DueAnswer(Student student, long dueAt, String message) {
+            this.student = student;
+            this.dueAt = dueAt;
+            this.message = message;
+        }
+    }
+
+    private final int spreadMillis;
+    private final Random random = new Random(42);
+    private final Selector selector;
+    private final PriorityQueue<DueAnswer> due = new PriorityQueue<>(Comparator.comparingLong(a -> a.dueAt));
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(16 * 1024);
+    private final long[] latencyMicros;
+    private final AtomicInteger results = new AtomicInteger();
+    private final AtomicInteger errors = new AtomicInteger();
+    private volatile boolean running = true;
+
+    private ClassroomLoadTest(int clients, int items, int spreadMillis) throws IOException {
+        this.spreadMillis = spreadMillis;
+        this.selector = Selector.open();
+        this.latencyMicros = new long[clients * items];
+    }
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int items = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int spread = args.length > 2 ? Integer.parseInt(args[2]) : 500;
+
+        ProblemEngine engine = new ProblemEngine(7L);
+        ArithmeticProblem[] problems = engine.takeSession(50, items);
+        engine.shutdown();
+
+        try (ClassroomHost host = new ClassroomHost(0, problems).start()) {
+            ClassroomLoadTest test = new ClassroomLoadTest(clients, items, spread);
+            test.connect(host.getPort(), clients);
+            Thread clientThread = new Thread(test::run, "load-test-clients");
+            clientThread.start();
+
+            waitFor(() -> host.getPlayerCount() == clients, 30_000);
+            System.out.println(host.getPlayerCount() + " students joined");
+
+            long start = System.nanoTime();
+            for (int item = 0; item < items; item++) {
+                host.nextProblem();
+                int expected = clients * (item + 1);
+                if (!waitFor(() -> test.results.get() + test.errors.get() >= expected, 30_000)) {
+                    System.out.println("Timed out on item " + item);
+                    break;
+                }
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            host.finish();
+            System.out.println("Top of the leaderboard:");
+            for (String row : host.leaderboardTop(5)) System.out.println("  " + row);
+
+            test.running = false;
+            test.selector.wakeup();
+            clientThread.join();
+            test.report(seconds);
+        }
+    }
+
+    private void connect(int port, int clients) throws IOException {
+        InetSocketAddress address = new InetSocketAddress("127.0.0.1", port);
+        for (int i = 0; i < clients; i++) {
+            SocketChannel channel = SocketChannel.open(address);
+            channel.socket().setTcpNoDelay(true);
+            channel.configureBlocking(false);
+            Student student = new Student(i, channel);
+            channel.register(selector, SelectionKey.OP_READ, student);
+            write(student, "JOIN student" + i);
+        }
+    }
+
+    // =================== Client selector loop ===================
+    private void run() {
+        try {
+            while (running) {
+                DueAnswer next = due.peek();
+                long waitMillis = next == null ? 0 : Math.max(1, (next.dueAt - System.nanoTime()) / 1_000_000);
+                selector.select(waitMillis);
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (key.isValid() && key.isReadable()) read((Student) key.attachment());
+                }
+
+                long now = System.nanoTime();
+                while (!due.isEmpty() && due.peek().dueAt <= now) {
+                    DueAnswer answer = due.poll();
+                    answer.student.sentAt = System.nanoTime();
+                    write(answer.student, answer.message);
+                }
+            }
+            for (SelectionKey key : selector.keys()) key.channel().close();
+            selector.close();
+        } catch (IOException e) {
+            System.err.println("Load test clients stopped: " + e.getMessage());
+        }
+    }
+
+    private void read(Student student) throws IOException {
+        readBuffer.clear();
+        if (student.channel.read(readBuffer) < 0) {
+            student.channel.close();
+            return;
+        }
+        readBuffer.flip();
+        while (readBuffer.hasRemaining()) {
+            char c = (char) readBuffer.get();
+            if (c == '\n') {
+                handle(student, student.line.toString());
+                student.line.setLength(0);
+            } else {
+                student.line.append(c);
+            }
+        }
+    }
+
+    private void handle(Student student, String line) {
+        if (line.startsWith("PROBLEM ")) {
+            String[] parts = line.split(" ");   // PROBLEM item a op b
+            int item = Integer.parseInt(parts[1]);
+            int answer = solve(Integer.parseInt(parts[2]), parts[3], Integer.parseInt(parts[4]));
+            if (random.nextDouble() >= ACCURACY) answer++;
+            long think = spreadMillis <= 0 ? 0 : random.nextInt(spreadMillis) * 1_000_000L;
+            due.add(new DueAnswer(student, System.nanoTime() + think, "ANSWER " + item + " " + answer));
+        } else if (line.startsWith("RESULT ")) {
+            long micros = (System.nanoTime() - student.sentAt) / 1000;
+            int n = results.get();
+            if (n < latencyMicros.length) latencyMicros[n] = micros;
+            results.incrementAndGet();
+        } else if (line.startsWith("ERR ")) {
+            errors.incrementAndGet();
+        }
+    }
+
+    private static int solve(int a, String operator, int b) {
+        switch (operator) {
+            case "+": return a + b;
+            case "-": return a - b;
+            case "*": return a * b;
+            case "/": return a / b;
+            default: return a % b;
+        }
+    }
+
+    private static void write(Student student, String message) throws IOException {
+        ByteBuffer data = ByteBuffer.wrap((message + "\n").getBytes(StandardCharsets.UTF_8));
+        while (data.hasRemaining()) student.channel.write(data);
+    }
+
+    // =================== Report ===================
+    private void report(double seconds) {
+        int n = Math.min(results.get(), latencyMicros.length);
+        long[] sorted = Arrays.copyOf(latencyMicros, n);
+        Arrays.sort(sorted);
+        System.out.printf("%,d answers in %.1f s, %d errors%n", n, seconds, errors.get());
+        if (n == 0) return;
+        System.out.printf("answer-to-leaderboard latency: p50 %.2f ms, p95 %.2f ms, p99 %.2f ms, max %.2f ms%n",
+                percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99), sorted[n - 1] / 1000.0);
+        boolean ok = percentile(sorted, 0.99) < TARGET_MILLIS;
+        System.out.println((ok ? "PASS" : "FAIL") + ": p99 target is under " + TARGET_MILLIS + " ms");
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        int i = (int) Math.min(sorted.length - 1, Math.round(p * (sorted.length - 1)));
+        return sorted[i] / 1000.0;
+    }
+
+    private static boolean waitFor(java.util.function.BooleanSupplier condition, long timeoutMillis)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) return false;
+            Thread.sleep(5);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,64 @@
+import java.util.Random;
+
+/**
+ * Builds the 10 digit tiles for an answer without allocating.
+ * Used digits are tracked in a 10-bit mask, distractors are drawn from a
+ * reusable int[10] and the result is shuffled with Fisher-Yates on primitives.
+ * Produces the same distribution as the old List/contains/Collections.shuffle version.
+ * Not thread-safe: use one builder per thread.
+ */
+public class DigitPoolBuilder {
+    public static final int POOL_SIZE = 10;
+
+    private final int[] candidates = new int[POOL_SIZE];
+
+    /** Returns a new pool for the answer */
+    public int[] build(int answer, Random random) {
+        int[] pool = new int[POOL_SIZE];
+        build(answer, random, pool);
+        return pool;
+    }
+
+    /** Fills {@code pool[0..9]} with the answer digits, distinct distractors, shuffled */
+    public void build(int answer, Random random, int[] pool) {
+        int count = 0, mask = 0;
+
+        // Required digits (duplicates kept, e.g. 11 -> 1, 1)
+        long n = Math.abs((long) answer);
+        do {
+            int d = (int) (n % 10);
+            pool[count++] = d;
+            mask |= 1 << d;
+            n /= 10;
+        } while (n > 0);
+
+        // A spare 0 for short answers without one
+        if (answer != 0 && (mask & 1) == 0 && count < 4) {
+            pool[count++] = 0;
+            mask |= 1;
+        }
+
+        // Distractors: distinct digits not used yet, picked uniformly
+        int free = 0;
+        for (int d = 0; d < POOL_SIZE; d++) {
+            if ((mask & (1 << d)) == 0) candidates[free++] = d;
+        }
+        while (count < POOL_SIZE) {
+            int pick = random.nextInt(free);
+            pool[count++] = candidates[pick];
+            candidates[pick] = candidates[--free];
+        }
+
+        shuffle(pool, POOL_SIZE, random);
+    }
+
+    /** Fisher-Yates shuffle of the first {@code length} entries */
+    public static void shuffle(int[] values, int length, Random random) {
+        for (int i = length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int t = values[i];
+            values[i] = values[j];
+            values[j] = t;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+import java.awt.*;
+import java.util.Random;
+import java.util.function.UnaryOperator;
+import javax.swing.*;
+
+/**
+ * The ten digit tiles, created once and reused for every problem.
+ * Tiles draw their own digit instead of using setText, so rebinding or
+ * reordering them only repaints and never triggers a relayout.
+ */
+public class DigitTilePool {
+    public static final String COMMAND_PREFIX = "DIGIT_";
+
+    private final DigitTile[] tiles;
+    private final JPanel container;
+    private final Random random = new Random();
+
+    // Scratch arrays reused by shuffleEnabled()
+    private final int[] order;
+    private final boolean[] enabled;
+
+    public DigitTilePool(JPanel container, int size, UnaryOperator<JButton> styler) {
+        this.container = container;
+        this.tiles = new DigitTile[size];
+        this.order = new int[size];
+        this.enabled = new boolean[size];
+        for (int i = 0; i < size; i++) {
+            tiles[i] = new DigitTile();
+            styler.apply(tiles[i]);
+            container.add(tiles[i]);
+        }
+    }
+
+    /** Shows a new problem's digits, all enabled */
+    public void bind(int[] digits) {
+        for (int i = 0; i < tiles.length; i++) {
+            boolean used = i < digits.length;
+            tiles[i].setDigit(used ? digits[i] : -1);
+            tiles[i].setVisible(used);
+            tiles[i].setEnabled(used);
+        }
+        container.repaint();
+    }
+
+    public void enableAll() {
+        for (DigitTile tile : tiles) tile.setEnabled(tile.getDigit() >= 0);
+    }
+
+    public void disableAll() {
+        for (DigitTile tile : tiles) tile.setEnabled(false);
+    }
+
+    /** Disables the first enabled tile showing this digit; false if there is none */
+    public boolean disableFirst(int digit) {
+        for (DigitTile tile : tiles) {
+            if (tile.getDigit() == digit && tile.isEnabled()) {
+                tile.setEnabled(false);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Shuffles the enabled tiles to the front in random order; used tiles move to the end */
+    public void shuffleEnabled() {
+        int count = 0;
+        for (DigitTile tile : tiles) {
+            if (tile.getDigit() >= 0 && tile.isEnabled()) order[count++] = tile.getDigit();
+        }
+        DigitPoolBuilder.shuffle(order, count, random);
+
+        for (int i = 0; i < count; i++) enabled[i] = true;
+        for (DigitTile tile : tiles) {
+            if (tile.getDigit() >= 0 && !tile.isEnabled()) {
+                order[count] = tile.getDigit();
+                enabled[count++] = false;
+            }
+        }
+
+        for (int i = 0; i < count; i++) {
+            tiles[i].setDigit(order[i]);
+            tiles[i].setEnabled(enabled[i]);
+        }
+        container.repaint();
+    }
+
+    /** A button that paints its digit itself so changing it never revalidates */
+    static class DigitTile extends JButton {
+        private static final long serialVersionUID = 1L;
+        private static final String[] DIGIT_TEXT = {"0", "1", "2", "3", "4", "5", "6", "7", "8", "9"};
+        private static final String[] DIGIT_COMMAND = new String[DIGIT_TEXT.length];
+        static {
+            for (int d = 0; d < DIGIT_TEXT.length; d++) DIGIT_COMMAND[d] = COMMAND_PREFIX + DIGIT_TEXT[d];
+        }
+
+        private int digit = -1;
+
+        int getDigit() { return digit; }
+
+        void setDigit(int digit) {
+            if (this.digit != digit) {
+                this.digit = digit;
+                setActionCommand(digit >= 0 ? DIGIT_COMMAND[digit] : null);
+                repaint();
+            }
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            super.paintComponent(g);
+            if (digit < 0) return;
+
+            Graphics2D g2d = (Graphics2D) g;
+            g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g2d.setFont(getFont());
+            Color disabled = UIManager.getColor("Button.disabledText");
+            g2d.setColor(isEnabled() ? getForeground() : (disabled != null ? disabled : Color.GRAY));
+
+            String text = DIGIT_TEXT[digit];
+            FontMetrics fm = g2d.getFontMetrics();
+            int x = (getWidth() - fm.stringWidth(text)) / 2;
+            int y = (getHeight() - fm.getHeight()) / 2 + fm.getAscent();
+            g2d.drawString(text, x, y);
+        }
+    }
+}
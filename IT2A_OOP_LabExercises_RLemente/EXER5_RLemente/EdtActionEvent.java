@@ -0,0 +1,16 @@
+import jdk.jfr.*;
+
+/**
+ * JFR event for one slow piece of work on the Swing event thread.
+ * Only actions over the threshold are recorded; view them in JDK Mission
+ * Control or with "jfr print --events arithmeticgame.EdtAction file.jfr".
+ */
+@Name("arithmeticgame.EdtAction")
+@Label("EDT Action")
+@Category("ArithmeticGame")
+@Description("A button handler, clock callback or event-queue delay on the Swing event thread")
+@Threshold("16 ms")
+public class EdtActionEvent extends Event {
+    @Label("Action")
+    String action;
+}
@@ -0,0 +1,167 @@
+import java.awt.event.ActionListener;
+import java.util.*;
+import javax.swing.SwingUtilities;
+
+/**
+ * Measures how long work on the Swing event thread takes.
+ *
+ * Button handlers and GameClock callbacks are wrapped with {@link #wrap}; each
+ * run goes into a per-action latency histogram, and anything longer than one
+ * 60 Hz frame (16 ms) is a "block". Blocks are also JFR EdtActionEvents, so a
+ * flight recording shows which action ate the frame time.
+ *
+ * Run with -Dedt.monitor=true to also print blocks as they happen, watch the
+ * event queue delay (catches painting and layout that no handler covers) and
+ * print every histogram when the game exits.
+ */
+public final class EdtMonitor {
+    public static final long BLOCK_NANOS = 16_000_000L;
+    private static final boolean VERBOSE = Boolean.getBoolean("edt.monitor");
+    private static final long WATCHDOG_PERIOD_MILLIS = 100;
+    private static final String QUEUE_DELAY = "event-queue delay";
+
+    /** Log2 buckets of microseconds: bucket b holds durations below 2^b us */
+    public static final class Histogram {
+        private static final int BUCKETS = 32;
+        private final long[] counts = new long[BUCKETS];
+        private long count, totalNanos, maxNanos, blocks;
+
+        synchronized void record(long nanos) {
+            long micros = nanos / 1000;
+            int bucket = Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+            counts[bucket]++;
+            count++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+            if (nanos > BLOCK_NANOS) blocks++;
+        }
+
+        public synchronized long getCount() { return count; }
+        public synchronized long getBlocks() { return blocks; }
+        public synchronized double getMaxMillis() { return maxNanos / 1e6; }
+        public synchronized double getMeanMillis() { return count == 0 ? 0 : totalNanos / 1e6 / count; }
+
+        /** Upper bound of the bucket holding the given percentile, in ms */
+        public synchronized double percentileMillis(double p) {
+            long target = (long) Math.ceil(p * count);
+            long seen = 0;
+            for (int b = 0; b < BUCKETS; b++) {
+                seen += counts[b];
+                if (seen >= target && seen > 0) return Math.min((1L << b) / 1000.0, getMaxMillis());
+            }
+            return getMaxMillis();
+        }
+    }
+
+    private static final Map<String, Histogram> histograms = Collections.synchronizedMap(new TreeMap<>());
+    private static int depth = 0;   // EDT only: nested wrapped calls are not flagged twice
+    private static Thread watchdog;
+
+    private EdtMonitor() { }
+
+    /** Wraps a listener; each event is recorded under its action command */
+    public static ActionListener wrap(ActionListener listener) {
+        return e -> {
+            String command = e.getActionCommand();
+            measure(command == null ? "action" : actionName(command), () -> listener.actionPerformed(e));
+        };
+    }
+
+    /** Wraps a listener under a fixed action name */
+    public static ActionListener wrap(String name, ActionListener listener) {
+        return e -> measure(name, () -> listener.actionPerformed(e));
+    }
+
+    /** Wraps a timer or clock callback */
+    public static Runnable wrap(String name, Runnable task) {
+        return () -> measure(name, task);
+    }
+
+    public static Histogram histogram(String name) {
+        return histograms.computeIfAbsent(name, n -> new Histogram());
+    }
+
+    private static void measure(String name, Runnable task) {
+        EdtActionEvent event = new EdtActionEvent();
+        event.begin();
+        long start = System.nanoTime();
+        depth++;
+        try {
+            task.run();
+        } finally {
+            depth--;
+            long nanos = System.nanoTime() - start;
+            histogram(name).record(nanos);
+            if (depth == 0) {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.action = name;
+                    event.commit();
+                }
+                if (VERBOSE && nanos > BLOCK_NANOS) {
+                    System.err.printf("EDT blocked %.1f ms in %s%n", nanos / 1e6, name);
+                }
+            }
+        }
+    }
+
+    // Digit tiles all share one name; their command only differs by the digit
+    private static String actionName(String command) {
+        int end = command.length();
+        while (end > 0 && Character.isDigit(command.charAt(end - 1))) end--;
+        return end == command.length() ? command : command.substring(0, end) + "n";
+    }
+
+    // =================== Verbose mode ===================
+    /** With -Dedt.monitor=true: starts the queue watchdog and the exit report */
+    public static synchronized void installIfEnabled() {
+        if (!VERBOSE || watchdog != null) return;
+
+        watchdog = new Thread(EdtMonitor::watchQueue, "edt-watchdog");
+        watchdog.setDaemon(true);
+        watchdog.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> System.err.print(report())));
+    }
+
+    // Posts a no-op to the EDT and times how long it waits behind other work
+    private static void watchQueue() {
+        while (true) {
+            long posted = System.nanoTime();
+            EdtActionEvent event = new EdtActionEvent();
+            event.begin();
+            try {
+                SwingUtilities.invokeAndWait(() -> { });
+            } catch (Exception e) {
+                return;
+            }
+            long nanos = System.nanoTime() - posted;
+            histogram(QUEUE_DELAY).record(nanos);
+            event.end();
+            if (event.shouldCommit()) {
+                event.action = QUEUE_DELAY;
+                event.commit();
+            }
+            if (nanos > BLOCK_NANOS) System.err.printf("EDT queue waited %.1f ms%n", nanos / 1e6);
+
+            try {
+                Thread.sleep(WATCHDOG_PERIOD_MILLIS);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    /** One line per action: count, mean, p50/p99 bucket, max and blocks over 16 ms */
+    public static String report() {
+        StringBuilder sb = new StringBuilder("EDT latency (ms)\n");
+        sb.append(String.format("%-20s %7s %7s %7s %7s %8s %6s%n", "action", "count", "mean", "p50", "p99", "max", ">16ms"));
+        synchronized (histograms) {
+            for (Map.Entry<String, Histogram> e : histograms.entrySet()) {
+                Histogram h = e.getValue();
+                sb.append(String.format("%-20s %7d %7.2f %7.2f %7.2f %8.2f %6d%n", e.getKey(), h.getCount(),
+                        h.getMeanMillis(), h.percentileMillis(0.5), h.percentileMillis(0.99), h.getMaxMillis(), h.getBlocks()));
+            }
+        }
+        return sb.toString();
+    }
+}
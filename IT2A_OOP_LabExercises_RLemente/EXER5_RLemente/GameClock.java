@@ -0,0 +1,218 @@
+import java.util.*;
+
+/**
+ * One clock for every delayed action in the game (countdown ticks, answer
+ * delays, background flashes). Actions sit in a hashed timing wheel and are
+ * tagged with a game session id so a whole session can be cancelled at once.
+ *
+ * The wheel only moves when advanceTo/advanceBy is called. In the game a single
+ * javax.swing.Timer does that on the EDT; tests can drive it as a virtual clock.
+ * Actions due on the same tick run in the order they were scheduled.
+ */
+public class GameClock {
+    private static final int WHEEL_SIZE = 64;
+    private static final Action[] NONE = new Action[0];
+
+    private final int tickMillis;
+    private final List<List<Action>> wheel = new ArrayList<>(WHEEL_SIZE);
+    private final List<Action> due = new ArrayList<>();
+    private Action[] running = NONE; // the batch of the tick being run, already out of the wheel
+    private long currentTick = 0;
+    private long nextSequence = 0;
+    private int pending = 0;
+
+    // Swing driver (created on first use, stopped while nothing is pending)
+    private javax.swing.Timer driver;
+    private long driverOriginNanos;
+
+    public GameClock(int tickMillis) {
+        if (tickMillis <= 0) throw new IllegalArgumentException("Tick must be positive: " + tickMillis);
+        this.tickMillis = tickMillis;
+        for (int i = 0; i < WHEEL_SIZE; i++) wheel.add(new ArrayList<>());
+    }
+
+    /** A scheduled action; cancel() is safe to call more than once */
+    public final class Action {
+        private final int sessionId;
+        private final long periodTicks;
+        private final Runnable task;
+        private long dueTick;
+        private long sequence;
+        private boolean cancelled;
+
+        private Action(int sessionId, long dueTick, long periodTicks, Runnable task) {
+            this.sessionId = sessionId;
+            this.dueTick = dueTick;
+            this.periodTicks = periodTicks;
+            this.task = task;
+        }
+
+        public void cancel() {
+            if (!cancelled) {
+                cancelled = true;
+                if (wheel.get(slot(dueTick)).remove(this)) pending--;
+            }
+        }
+
+        public boolean isCancelled() { return cancelled; }
+    }
+
+    /** Runs the task once after the delay */
+    public Action schedule(int sessionId, long delayMillis, Runnable task) {
+        return add(new Action(sessionId, currentTick + toTicks(delayMillis), 0, task));
+    }
+
+    /** Runs the task every period until cancelled */
+    public Action scheduleRepeating(int sessionId, long periodMillis, Runnable task) {
+        long period = toTicks(periodMillis);
+        return add(new Action(sessionId, currentTick + period, period, task));
+    }
+
+    /** Cancels everything still pending for a game session, including actions of the tick being run */
+    public void cancelSession(int sessionId) {
+        for (Action action : running) {
+            if (action.sessionId == sessionId) action.cancelled = true;
+        }
+        for (List<Action> bucket : wheel) {
+            for (Iterator<Action> it = bucket.iterator(); it.hasNext(); ) {
+                Action action = it.next();
+                if (action.sessionId == sessionId) {
+                    action.cancelled = true;
+                    it.remove();
+                    pending--;
+                }
+            }
+        }
+    }
+
+    public int pendingCount() { return pending; }
+
+    /** Current clock time in milliseconds (a multiple of the tick) */
+    public long now() { return currentTick * tickMillis; }
+
+    public void advanceBy(long millis) {
+        advanceTo(now() + millis);
+    }
+
+    /** Runs every action due up to the given clock time */
+    public void advanceTo(long millis) {
+        long targetTick = millis / tickMillis;
+        while (currentTick < targetTick) {
+            currentTick++;
+            if (pending == 0) {
+                currentTick = targetTick; // nothing to run, skip ahead
+                break;
+            }
+            runDue(wheel.get(slot(currentTick)));
+        }
+    }
+
+    private void runDue(List<Action> bucket) {
+        due.clear();
+        for (Iterator<Action> it = bucket.iterator(); it.hasNext(); ) {
+            Action action = it.next();
+            if (action.dueTick <= currentTick) {
+                it.remove();
+                pending--;
+                due.add(action);
+            }
+        }
+        if (due.isEmpty()) return;
+        due.sort(Comparator.comparingLong((Action a) -> a.sequence));
+
+        // Copy first: tasks may schedule or cancel other actions
+        Action[] toRun = due.toArray(new Action[0]);
+        Action[] outer = running;
+        running = toRun;
+        try {
+            for (Action action : toRun) {
+                if (action.cancelled) continue;
+                if (action.periodTicks > 0) {
+                    action.dueTick = currentTick + action.periodTicks;
+                    add(action);
+                }
+                action.task.run();
+            }
+        } finally {
+            running = outer;
+        }
+    }
+
+    private Action add(Action action) {
+        action.sequence = nextSequence++;
+        wheel.get(slot(action.dueTick)).add(action);
+        pending++;
+        startDriver();
+        return action;
+    }
+
+    private long toTicks(long millis) {
+        return Math.max(1, (millis + tickMillis - 1) / tickMillis);
+    }
+
+    private int slot(long tick) {
+        return (int) (tick % WHEEL_SIZE);
+    }
+
+    // --- Swing driver ---
+
+    /** Lets a javax.swing.Timer advance the clock on the EDT in real time */
+    public void useSwingDriver() {
+        if (driver == null) {
+            driver = new javax.swing.Timer(tickMillis, e -> {
+                advanceTo((System.nanoTime() - driverOriginNanos) / 1_000_000L);
+                if (pending == 0) driver.stop();
+            });
+            startDriver();
+        }
+    }
+
+    private void startDriver() {
+        if (driver != null && !driver.isRunning() && pending > 0) {
+            // Line real time up with the current tick so idle time is not replayed
+            driverOriginNanos = System.nanoTime() - now() * 1_000_000L;
+            driver.start();
+        }
+    }
+
+    /** Virtual-clock check of ordering and session cancellation (no Swing needed) */
+    public static void main(String[] args) {
+        GameClock clock = new GameClock(10);
+        List<String> log = new ArrayList<>();
+
+        // Same tick: run in scheduling order; earlier ticks first
+        clock.schedule(1, 50, () -> log.add("b"));
+        clock.schedule(1, 20, () -> log.add("a"));
+        clock.schedule(1, 50, () -> log.add("c"));
+        clock.advanceBy(100);
+        check(log, "a", "b", "c");
+
+        // A repeating action runs once per period of virtual time
+        log.clear();
+        Action tick = clock.scheduleRepeating(2, 30, () -> log.add("tick@" + clock.now()));
+        clock.advanceBy(95);
+        tick.cancel();
+        clock.advanceBy(100);
+        check(log, "tick@130", "tick@160", "tick@190");
+
+        // Ending a session from inside a tick stops its later actions of that same tick
+        log.clear();
+        clock.schedule(3, 40, () -> {
+            log.add("end");
+            clock.cancelSession(3);
+        });
+        clock.schedule(3, 40, () -> log.add("leaked"));
+        clock.schedule(4, 40, () -> log.add("other session"));
+        clock.scheduleRepeating(3, 10, () -> log.add("countdown@" + clock.now()));
+        clock.advanceBy(100); // at 330 the countdown is due right after "end" and must not run
+        check(log, "countdown@300", "countdown@310", "countdown@320", "end", "other session");
+        if (clock.pendingCount() != 0) throw new AssertionError("Pending after cancel: " + clock.pendingCount());
+        System.out.println("GameClock ordering and cancellation checks passed");
+    }
+
+    private static void check(List<String> log, String... expected) {
+        if (!log.equals(Arrays.asList(expected))) {
+            throw new AssertionError("Expected " + Arrays.asList(expected) + " but ran " + log);
+        }
+    }
+}
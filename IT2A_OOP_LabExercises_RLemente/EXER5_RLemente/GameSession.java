@@ -0,0 +1,104 @@
+/**
+ * The game rules without any Swing: answers, streak scoring, hints and time-outs.
+ * ArithmeticGame and the headless GameSimulator both play through this class.
+ */
+public class GameSession {
+    public static final int DEFAULT_HINTS = 3;
+
+    private final ArithmeticProblem[] problems;
+    private final int[] userAnswers;
+    private final boolean[] timedOut;
+    private final int[] responseMillis;
+    private final int[] itemPoints;
+    private int index = 0;
+    private int answered = 0;
+    private int score = 0;
+    private int streak = 0;
+    private int correctCount = 0;
+    private int hintsRemaining;
+
+    public GameSession(ArithmeticProblem[] problems, int hints) {
+        this.problems = problems;
+        this.userAnswers = new int[problems.length];
+        this.timedOut = new boolean[problems.length];
+        this.responseMillis = new int[problems.length];
+        this.itemPoints = new int[problems.length];
+        this.hintsRemaining = hints;
+    }
+
+    public ArithmeticProblem current() { return problems[index]; }
+    public ArithmeticProblem getProblem(int i) { return problems[i]; }
+    public int getIndex() { return index; }
+    public int getTotalItems() { return problems.length; }
+    public int getAnsweredCount() { return answered; }
+    public int getScore() { return score; }
+    public int getStreak() { return streak; }
+    public int getCorrectCount() { return correctCount; }
+    public int getHintsRemaining() { return hintsRemaining; }
+
+    public int getUserAnswer(int i) { return userAnswers[i]; }
+    public int getCorrectAnswer(int i) { return problems[i].getAnswer(); }
+    public boolean isTimedOut(int i) { return timedOut[i]; }
+    public int getResponseMillis(int i) { return responseMillis[i]; }
+    public int getItemPoints(int i) { return itemPoints[i]; }
+    public boolean isCorrect(int i) { return !timedOut[i] && userAnswers[i] == problems[i].getAnswer(); }
+
+    /** Swaps in a different problem for an item that has not been answered yet */
+    public void setProblem(int i, ArithmeticProblem problem) {
+        if (i < answered) throw new IllegalStateException("Item " + i + " was already answered");
+        problems[i] = problem;
+    }
+
+    /** True once the current item has been answered or timed out */
+    public boolean isCurrentAnswered() { return answered > index; }
+
+    /** Records an answer for the current item and returns the points earned (0 if wrong) */
+    public int submit(int answer) {
+        return submit(answer, 0);
+    }
+
+    /** Same as {@link #submit(int)}, also keeping how long the player took */
+    public int submit(int answer, int millis) {
+        userAnswers[index] = answer;
+        responseMillis[index] = millis;
+        answered++;
+        if (answer == problems[index].getAnswer()) {
+            int points = (streak > 1 ? streak : 1);
+            score += points;
+            streak++;
+            correctCount++;
+            itemPoints[index] = points;
+            return points;
+        }
+        streak = 0;
+        return 0;
+    }
+
+    /** Records a time-out for the current item (stored as answer 0, like the game always has) */
+    public void timeOut() {
+        timeOut(0);
+    }
+
+    public void timeOut(int millis) {
+        userAnswers[index] = 0;
+        responseMillis[index] = millis;
+        timedOut[index] = true;
+        answered++;
+        // The streak is kept on a time-out, same as the original game
+    }
+
+    /** Uses up one hint; false if none are left */
+    public boolean useHint() {
+        if (hintsRemaining <= 0) return false;
+        hintsRemaining--;
+        return true;
+    }
+
+    /** Moves to the next item; false when the session is over */
+    public boolean advance() {
+        index++;
+        return index < problems.length;
+    }
+
+    public boolean isFinished() { return index >= problems.length; }
+}
@@ -0,0 +1,37 @@
+/**
+ * Throughput benchmark for the headless simulator (sessions per second).
+ * Plain warm-up/measure loop: the exercises have no build file to pull in JMH.
+ * Usage: java GameSimulationBenchmark [sessionsPerIteration] [threads]
+ */
+public class GameSimulationBenchmark {
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int MEASURE_ITERATIONS = 5;
+
+    public static void main(String[] args) {
+        long sessions = args.length > 0 ? Long.parseLong(args[0]) : 200_000L;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int[] difficulties = {10, 50, 100};
+        int items = 10;
+
+        GameSimulator simulator = new GameSimulator(threads);
+        SimulatedPlayer player = SimulatedPlayer.random(0.75, 0.05);
+        System.out.println("threads=" + threads + ", items=" + items + ", sessions/iteration=" + sessions);
+
+        for (int max : difficulties) {
+            for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+                simulator.simulate(max, items, sessions, player, i);
+            }
+
+            double best = 0, sum = 0;
+            for (int i = 0; i < MEASURE_ITERATIONS; i++) {
+                long start = System.nanoTime();
+                simulator.simulate(max, items, sessions, player, 100 + i);
+                double rate = sessions / ((System.nanoTime() - start) / 1e9);
+                best = Math.max(best, rate);
+                sum += rate;
+            }
+            System.out.printf("difficulty %3d: avg %,.0f sessions/s, best %,.0f sessions/s%n",
+                    max, sum / MEASURE_ITERATIONS, best);
+        }
+    }
+}
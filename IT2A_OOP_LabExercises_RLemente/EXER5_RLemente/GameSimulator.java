@@ -0,0 +1,98 @@
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Plays many headless game sessions with simulated players, using the same
+ * problem generation (ProblemEngine) and scoring rules (GameSession) as the game.
+ * Work is split into seeded chunks so results are reproducible for any thread count.
+ */
+public class GameSimulator {
+    private static final int CHUNK_SESSIONS = 10_000;
+
+    private final int threads;
+
+    public GameSimulator(int threads) {
+        this.threads = Math.max(1, threads);
+    }
+
+    public GameSimulator() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /** Simulates {@code sessions} games of {@code items} problems at one difficulty */
+    public ScoreDistribution simulate(int difficultyMax, int items, long sessions, SimulatedPlayer player, long seed) {
+        int chunks = (int) ((sessions + CHUNK_SESSIONS - 1) / CHUNK_SESSIONS);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<ScoreDistribution>> results = new ArrayList<>();
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                long chunkSessions = Math.min(CHUNK_SESSIONS, sessions - (long) chunk * CHUNK_SESSIONS);
+                long chunkSeed = seed * 0x9E3779B97F4A7C15L + chunk;
+                results.add(pool.submit(() -> runChunk(difficultyMax, items, chunkSessions, player, chunkSeed)));
+            }
+
+            ScoreDistribution total = new ScoreDistribution(items);
+            for (Future<ScoreDistribution> result : results) {
+                total.merge(result.get());
+            }
+            return total;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Simulation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Simulation failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static ScoreDistribution runChunk(int difficultyMax, int items, long sessions, SimulatedPlayer player, long seed) {
+        Random random = new Random(seed);
+        DigitPoolBuilder pools = new DigitPoolBuilder();
+        ScoreDistribution distribution = new ScoreDistribution(items);
+
+        for (long s = 0; s < sessions; s++) {
+            ArithmeticProblem[] problems = new ArithmeticProblem[items];
+            for (int i = 0; i < items; i++) {
+                problems[i] = ProblemEngine.generate(difficultyMax, random, pools);
+            }
+            GameSession game = playSession(new GameSession(problems, GameSession.DEFAULT_HINTS), player, random);
+            distribution.add(game.getScore(), game.getCorrectCount());
+        }
+        return distribution;
+    }
+
+    /** Plays one session to the end */
+    public static GameSession playSession(GameSession game, SimulatedPlayer player, Random random) {
+        do {
+            int answer = player.answer(game.current(), game.getIndex(), random);
+            if (answer == SimulatedPlayer.TIMEOUT) game.timeOut();
+            else game.submit(answer);
+        } while (game.advance());
+        return game;
+    }
+
+    /** Prints score distributions per difficulty for a few player types */
+    public static void main(String[] args) {
+        long sessions = args.length > 0 ? Long.parseLong(args[0]) : 1_000_000L;
+        int items = 10;
+        int[] difficulties = {10, 50, 100};
+        String[] names = {"EASY", "MEDIUM", "HARD"};
+
+        Map<String, SimulatedPlayer> players = new LinkedHashMap<>();
+        players.put("strong (90%)", SimulatedPlayer.random(0.90, 0.02));
+        players.put("average (70%)", SimulatedPlayer.random(0.70, 0.05));
+        players.put("struggling (40%)", SimulatedPlayer.random(0.40, 0.15));
+
+        GameSimulator simulator = new GameSimulator();
+        for (int d = 0; d < difficulties.length; d++) {
+            System.out.println("=== " + names[d] + " (" + items + " items) ===");
+            for (Map.Entry<String, SimulatedPlayer> player : players.entrySet()) {
+                long start = System.nanoTime();
+                ScoreDistribution result = simulator.simulate(difficulties[d], items, sessions, player.getValue(), 42);
+                double seconds = (System.nanoTime() - start) / 1e9;
+                System.out.printf("%-18s %s  (%.0f sessions/s)%n", player.getKey(), result, sessions / seconds);
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+import java.util.*;
+
+/**
+ * Scores of every player in a classroom game.
+ * A Fenwick tree over score values gives a player's rank in O(log maxScore)
+ * after each update, no matter how many players are connected.
+ */
+public class LiveLeaderboard {
+    private final int maxScore;
+    private final long[] tree;             // players per score (1-based Fenwick tree)
+    private final Map<Integer, Integer> scores = new HashMap<>();
+    private final Map<Integer, String> names = new HashMap<>();
+
+    public LiveLeaderboard(int maxScore) {
+        this.maxScore = maxScore;
+        this.tree = new long[maxScore + 2];
+    }
+
+    public void join(int playerId, String name) {
+        if (scores.putIfAbsent(playerId, 0) == null) add(0, 1);
+        names.put(playerId, name);
+    }
+
+    public void leave(int playerId) {
+        Integer score = scores.remove(playerId);
+        if (score != null) add(score, -1);
+        names.remove(playerId);
+    }
+
+    public void setScore(int playerId, int score) {
+        score = Math.min(score, maxScore);
+        Integer old = scores.put(playerId, score);
+        if (old != null) add(old, -1);
+        add(score, 1);
+    }
+
+    public int getScore(int playerId) {
+        return scores.getOrDefault(playerId, 0);
+    }
+
+    /** 1 for the leader; players with the same score share a rank */
+    public int rankOf(int playerId) {
+        return (int) (countAbove(getScore(playerId)) + 1);
+    }
+
+    public int size() { return scores.size(); }
+
+    /** The best {@code n} players as "rank. name - score" lines */
+    public List<String> top(int n) {
+        List<Map.Entry<Integer, Integer>> all = new ArrayList<>(scores.entrySet());
+        all.sort((a, b) -> Integer.compare(b.getValue(), a.getValue()));
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < Math.min(n, all.size()); i++) {
+            Map.Entry<Integer, Integer> e = all.get(i);
+            lines.add(rankOf(e.getKey()) + ". " + names.get(e.getKey()) + " - " + e.getValue());
+        }
+        return lines;
+    }
+
+    private long countAbove(int score) {
+        return prefix(maxScore) - prefix(score);
+    }
+
+    private void add(int score, long delta) {
+        for (int i = score + 1; i < tree.length; i += i & -i) tree[i] += delta;
+    }
+
+    private long prefix(int score) {
+        long sum = 0;
+        for (int i = score + 1; i > 0; i -= i & -i) sum += tree[i];
+        return sum;
+    }
+}
@@ -0,0 +1,236 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Local player history and leaderboard.
+ *
+ * Every finished game is appended to history.dat as [length][SessionRecord].
+ * The top-K scores per difficulty (bounded min-heaps) and the per-player index
+ * of record offsets are kept in memory and checkpointed to leaderboard.snapshot,
+ * so startup only replays records appended after the last checkpoint.
+ */
+public class PlayerHistoryStore implements Closeable {
+    public static final int DEFAULT_TOP_K = 10;
+
+    private static final String HISTORY_FILE = "history.dat";
+    private static final String SNAPSHOT_FILE = "leaderboard.snapshot";
+    private static final int SNAPSHOT_MAGIC = 0x4D575A31; // "MWZ1"
+    private static final int SNAPSHOT_EVERY = 20;
+
+    /** One leaderboard line */
+    public static final class Entry {
+        private final String player;
+        private final int difficultyMax, score, correct, items;
+        private final long timestamp, offset;
+
+        Entry(String player, int difficultyMax, int score, int correct, int items, long timestamp, long offset) {
+            this.player = player;
+            this.difficultyMax = difficultyMax;
+            this.score = score;
+            this.correct = correct;
+            this.items = items;
+            this.timestamp = timestamp;
+            this.offset = offset;
+        }
+
+        public String getPlayer() { return player; }
+        public int getDifficultyMax() { return difficultyMax; }
+        public int getScore() { return score; }
+        public int getCorrect() { return correct; }
+        public int getItems() { return items; }
+        public long getTimestamp() { return timestamp; }
+
+        @Override
+        public String toString() {
+            return player + " - " + score + " pts (" + correct + "/" + items + ")";
+        }
+    }
+
+    // Worst entry first, so the heap root is the one to drop (earlier game wins a tie)
+    private static final Comparator<Entry> WORST_FIRST =
+            Comparator.comparingInt(Entry::getScore).thenComparing(Comparator.comparingLong(Entry::getTimestamp).reversed());
+
+    private final Path historyPath, snapshotPath;
+    private final int topK;
+    private final FileChannel history;
+    private final Map<Integer, PriorityQueue<Entry>> leaderboards = new TreeMap<>();
+    private final Map<String, List<Long>> playerIndex = new HashMap<>();
+    private long indexedUpTo = 0;
+    private int appendsSinceSnapshot = 0;
+
+    public PlayerHistoryStore(Path directory, int topK) throws IOException {
+        if (topK <= 0) throw new IllegalArgumentException("topK must be positive: " + topK);
+        this.topK = topK;
+        Files.createDirectories(directory);
+        this.historyPath = directory.resolve(HISTORY_FILE);
+        this.snapshotPath = directory.resolve(SNAPSHOT_FILE);
+        this.history = FileChannel.open(historyPath,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        if (!loadSnapshot() || indexedUpTo > history.size()) {
+            // No usable checkpoint: rebuild from the whole history once
+            leaderboards.clear();
+            playerIndex.clear();
+            indexedUpTo = 0;
+        }
+        replayFrom(indexedUpTo);
+    }
+
+    /** Appends a finished game and updates the leaderboard and player index */
+    public synchronized void append(SessionRecord record) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        record.writeTo(new DataOutputStream(bytes));
+
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + bytes.size());
+        buffer.putInt(bytes.size()).put(bytes.toByteArray()).flip();
+        long offset = history.size();
+        while (buffer.hasRemaining()) {
+            history.write(buffer, offset + buffer.position());
+        }
+
+        index(record, offset);
+        indexedUpTo = offset + Integer.BYTES + bytes.size();
+        if (++appendsSinceSnapshot >= SNAPSHOT_EVERY) writeSnapshot();
+    }
+
+    /** Best scores for a difficulty, highest first (at most K entries) */
+    public synchronized List<Entry> topScores(int difficultyMax) {
+        PriorityQueue<Entry> heap = leaderboards.get(difficultyMax);
+        if (heap == null) return Collections.emptyList();
+        List<Entry> entries = new ArrayList<>(heap);
+        entries.sort(WORST_FIRST.reversed());
+        return entries;
+    }
+
+    /** Every stored game of one player, oldest first */
+    public synchronized List<SessionRecord> sessionsFor(String player) throws IOException {
+        List<SessionRecord> sessions = new ArrayList<>();
+        for (long offset : playerIndex.getOrDefault(player, Collections.emptyList())) {
+            sessions.add(readAt(offset));
+        }
+        return sessions;
+    }
+
+    public synchronized Set<String> players() {
+        return new TreeSet<>(playerIndex.keySet());
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            writeSnapshot();
+        } finally {
+            history.close();
+        }
+    }
+
+    // =================== Indexing ===================
+    private void index(SessionRecord record, long offset) {
+        Entry entry = new Entry(record.getPlayer(), record.getDifficultyMax(), record.getScore(),
+                record.getCorrectCount(), record.getItems(), record.getTimestamp(), offset);
+        offer(entry);
+        playerIndex.computeIfAbsent(record.getPlayer(), p -> new ArrayList<>()).add(offset);
+    }
+
+    private void offer(Entry entry) {
+        PriorityQueue<Entry> heap = leaderboards.computeIfAbsent(entry.difficultyMax, d -> new PriorityQueue<>(topK + 1, WORST_FIRST));
+        if (heap.size() < topK) {
+            heap.add(entry);
+        } else if (WORST_FIRST.compare(entry, heap.peek()) > 0) {
+            heap.poll();
+            heap.add(entry);
+        }
+    }
+
+    /** Indexes records written after the checkpoint; a torn last record is cut off */
+    private void replayFrom(long offset) throws IOException {
+        long size = history.size();
+        ByteBuffer lengthBuffer = ByteBuffer.allocate(Integer.BYTES);
+        while (offset + Integer.BYTES <= size) {
+            lengthBuffer.clear();
+            readFully(lengthBuffer, offset);
+            int length = lengthBuffer.getInt(0);
+            if (length <= 0 || offset + Integer.BYTES + length > size) break;
+            index(readAt(offset), offset);
+            offset += Integer.BYTES + length;
+        }
+        if (offset < size) history.truncate(offset);
+        indexedUpTo = offset;
+    }
+
+    private SessionRecord readAt(long offset) throws IOException {
+        ByteBuffer lengthBuffer = ByteBuffer.allocate(Integer.BYTES);
+        readFully(lengthBuffer, offset);
+        ByteBuffer payload = ByteBuffer.allocate(lengthBuffer.getInt(0));
+        readFully(payload, offset + Integer.BYTES);
+        return SessionRecord.readFrom(new DataInputStream(new ByteArrayInputStream(payload.array())));
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (history.read(buffer, position + buffer.position()) < 0) throw new EOFException();
+        }
+    }
+
+    // =================== Checkpoint ===================
+    private void writeSnapshot() throws IOException {
+        Path temp = snapshotPath.resolveSibling(SNAPSHOT_FILE + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeLong(indexedUpTo);
+            out.writeInt(leaderboards.size());
+            for (PriorityQueue<Entry> heap : leaderboards.values()) {
+                out.writeInt(heap.size());
+                for (Entry e : heap) {
+                    out.writeUTF(e.player);
+                    out.writeInt(e.difficultyMax);
+                    out.writeInt(e.score);
+                    out.writeInt(e.correct);
+                    out.writeInt(e.items);
+                    out.writeLong(e.timestamp);
+                    out.writeLong(e.offset);
+                }
+            }
+            out.writeInt(playerIndex.size());
+            for (Map.Entry<String, List<Long>> player : playerIndex.entrySet()) {
+                out.writeUTF(player.getKey());
+                out.writeInt(player.getValue().size());
+                for (long offset : player.getValue()) out.writeLong(offset);
+            }
+        }
+        history.force(false);
+        Files.move(temp, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        appendsSinceSnapshot = 0;
+    }
+
+    private boolean loadSnapshot() {
+        if (!Files.exists(snapshotPath)) return false;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotPath)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) return false;
+            indexedUpTo = in.readLong();
+            int boards = in.readInt();
+            for (int b = 0; b < boards; b++) {
+                int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    offer(new Entry(in.readUTF(), in.readInt(), in.readInt(), in.readInt(), in.readInt(),
+                            in.readLong(), in.readLong()));
+                }
+            }
+            int players = in.readInt();
+            for (int p = 0; p < players; p++) {
+                String player = in.readUTF();
+                int count = in.readInt();
+                List<Long> offsets = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) offsets.add(in.readLong());
+                playerIndex.put(player, offsets);
+            }
+            return true;
+        } catch (IOException e) {
+            System.err.println("Ignoring unreadable leaderboard snapshot: " + e.getMessage());
+            return false;
+        }
+    }
+}
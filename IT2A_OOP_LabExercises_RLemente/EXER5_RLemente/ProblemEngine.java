@@ -0,0 +1,142 @@
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Headless problem generator for ArithmeticGame.
+ * Whole sessions are generated ahead of time on a background thread, so
+ * starting a game and moving to the next item is just an array read.
+ * The same seed always produces the same sequence of sessions.
+ */
+public class ProblemEngine {
+    public static final int MAX_SESSION_ITEMS = 30;
+    private static final String[] ALL_OPS = {"+", "-", "*", "/", "%"};
+    private static final String[] EASY_OPS = {"+", "-"};
+
+    private final long seed;
+    private final ExecutorService worker;
+    private final Map<Integer, Future<ArithmeticProblem[]>> prefetched = new HashMap<>();
+    private final Map<Integer, Integer> sessionCounters = new HashMap<>();
+
+    public ProblemEngine(long seed) {
+        this.seed = seed;
+        this.worker = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "problem-engine");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /** Starts generating the next session for this difficulty in the background */
+    public synchronized void prefetch(int difficultyMax) {
+        if (!prefetched.containsKey(difficultyMax)) {
+            int sessionNumber = nextSessionNumber(difficultyMax);
+            prefetched.put(difficultyMax, worker.submit(() -> generateSession(difficultyMax, sessionNumber)));
+        }
+    }
+
+    /** Returns the next session of {@code items} problems and starts preparing the one after */
+    public ArithmeticProblem[] takeSession(int difficultyMax, int items) {
+        Future<ArithmeticProblem[]> next;
+        synchronized (this) {
+            prefetch(difficultyMax);
+            next = prefetched.remove(difficultyMax);
+            prefetch(difficultyMax);
+        }
+
+        ArithmeticProblem[] session;
+        try {
+            session = next.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while generating problems", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Problem generation failed", e.getCause());
+        }
+        return Arrays.copyOf(session, Math.min(items, session.length));
+    }
+
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    private int nextSessionNumber(int difficultyMax) {
+        int n = sessionCounters.getOrDefault(difficultyMax, 0);
+        sessionCounters.put(difficultyMax, n + 1);
+        return n;
+    }
+
+    private ArithmeticProblem[] generateSession(int difficultyMax, int sessionNumber) {
+        // Each session gets its own seed so results do not depend on thread timing
+        Random random = new Random(seed * 31 + difficultyMax * 1_000_003L + sessionNumber);
+        DigitPoolBuilder pools = new DigitPoolBuilder();
+        ArithmeticProblem[] session = new ArithmeticProblem[MAX_SESSION_ITEMS];
+        for (int i = 0; i < session.length; i++) {
+            session[i] = generate(difficultyMax, random, pools);
+        }
+        return session;
+    }
+
+    /** Generates one problem using the game's rules for the given difficulty */
+    public static ArithmeticProblem generate(int difficultyMax, Random random) {
+        return generate(difficultyMax, random, new DigitPoolBuilder());
+    }
+
+    /** Same as {@link #generate(int, Random)} but reuses the caller's pool builder */
+    public static ArithmeticProblem generate(int difficultyMax, Random random, DigitPoolBuilder pools) {
+        int max = difficultyMax, min = 1;
+        int op1 = random.nextInt(max) + min, op2 = random.nextInt(max) + min;
+        String operator;
+
+        if (max <= 10) {
+            operator = random.nextBoolean() ? "+" : "-";
+        } else {
+            operator = ALL_OPS[random.nextInt(ALL_OPS.length)];
+        }
+        return build(op1, operator, op2, max <= 10, random, pools);
+    }
+
+    /** Operators used at a difficulty: + and - for EASY, all five otherwise */
+    public static String[] operatorsFor(int difficultyMax) {
+        return (difficultyMax <= 10 ? EASY_OPS : ALL_OPS).clone();
+    }
+
+    /** Generates a problem with a chosen operator and operand range (used by AdaptiveDifficulty) */
+    public static ArithmeticProblem generate(String operator, int operandMax, boolean noNegatives,
+                                             Random random, DigitPoolBuilder pools) {
+        int op1 = random.nextInt(operandMax) + 1, op2 = random.nextInt(operandMax) + 1;
+        return build(op1, operator, op2, noNegatives, random, pools);
+    }
+
+    private static ArithmeticProblem build(int op1, String operator, int op2, boolean noNegatives,
+                                           Random random, DigitPoolBuilder pools) {
+        if (noNegatives && operator.equals("-") && op1 < op2) {
+            int t = op1;
+            op1 = op2;
+            op2 = t;
+        }
+
+        int answer = 0;
+        switch (operator) {
+            case "+":
+                answer = op1 + op2;
+                break;
+            case "-":
+                answer = op1 - op2;
+                break;
+            case "*":
+                answer = op1 * op2;
+                break;
+            case "/":
+                if (op2 == 0) op2 = 1;
+                answer = op1 / op2;
+                op1 = answer * op2;
+                break;
+            case "%":
+                if (op2 == 0) op2 = 1;
+                answer = op1 % op2;
+                break;
+        }
+
+        return new ArithmeticProblem(op1, operator, op2, answer, pools.build(answer, random));
+    }
+}
@@ -0,0 +1,87 @@
+import java.awt.*;
+import java.util.Arrays;
+import javax.swing.*;
+
+/**
+ * Per-item results, built one row at a time as answers come in.
+ * Shown in a plain JList, so the results screen needs no HTML parsing.
+ */
+public class ResultsListModel extends AbstractListModel<ResultsListModel.Row> {
+    private static final long serialVersionUID = 1L;
+    private static final String CHECK_MARK = "✓ ";
+
+    private final Color correctColor, incorrectColor, timedOutColor;
+    private Row[] rows = new Row[ProblemEngine.MAX_SESSION_ITEMS];
+    private int size = 0;
+    private int correctCount = 0;
+
+    public ResultsListModel(Color correctColor, Color incorrectColor, Color timedOutColor) {
+        this.correctColor = correctColor;
+        this.incorrectColor = incorrectColor;
+        this.timedOutColor = timedOutColor;
+    }
+
+    /** One finished item: its display text and status colour */
+    public static final class Row {
+        final String text;
+        final Color color;
+
+        Row(String text, Color color) {
+            this.text = text;
+            this.color = color;
+        }
+
+        @Override
+        public String toString() { return text; }
+    }
+
+    /** Adds the row for item {@code i} once it has been answered or timed out */
+    public void addResult(GameSession game, int i) {
+        int correctA = game.getCorrectAnswer(i);
+        String prefix = CHECK_MARK + "Item " + (i + 1) + ": ";
+        Row row;
+        if (game.isTimedOut(i)) {
+            row = new Row(prefix + "- (Timed Out (Ans: " + correctA + "))", timedOutColor);
+        } else if (game.isCorrect(i)) {
+            row = new Row(prefix + game.getUserAnswer(i) + " (Correct)", correctColor);
+            correctCount++;
+        } else {
+            row = new Row(prefix + game.getUserAnswer(i) + " (Incorrect (Ans: " + correctA + "))", incorrectColor);
+        }
+
+        if (size == rows.length) rows = Arrays.copyOf(rows, size * 2);
+        rows[size] = row;
+        size++;
+        fireIntervalAdded(this, size - 1, size - 1);
+    }
+
+    public void clear() {
+        if (size == 0) return;
+        int last = size - 1;
+        Arrays.fill(rows, 0, size, null);
+        size = 0;
+        correctCount = 0;
+        fireIntervalRemoved(this, 0, last);
+    }
+
+    public int getCorrectCount() { return correctCount; }
+
+    @Override
+    public int getSize() { return size; }
+
+    @Override
+    public Row getElementAt(int index) { return rows[index]; }
+
+    /** Draws a row in its status colour */
+    public static class RowRenderer extends DefaultListCellRenderer {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public Component getListCellRendererComponent(JList<?> list, Object value, int index,
+                                                      boolean isSelected, boolean cellHasFocus) {
+            super.getListCellRendererComponent(list, value, index, false, false);
+            if (value instanceof Row) setForeground(((Row) value).color);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/** Histogram of session scores and correct counts from a simulation run */
+public class ScoreDistribution {
+    private final long[] scoreCounts;
+    private final long[] correctCounts;
+    private long sessions = 0;
+    private long totalScore = 0;
+
+    public ScoreDistribution(int items) {
+        this.scoreCounts = new long[maxScore(items) + 1];
+        this.correctCounts = new long[items + 1];
+    }
+
+    /** Highest possible score: every answer correct (1 + 1 + 2 + ... + (items - 1)) */
+    public static int maxScore(int items) {
+        return items <= 0 ? 0 : 1 + items * (items - 1) / 2;
+    }
+
+    public void add(int score, int correct) {
+        scoreCounts[score]++;
+        correctCounts[correct]++;
+        sessions++;
+        totalScore += score;
+    }
+
+    public void merge(ScoreDistribution other) {
+        for (int i = 0; i < scoreCounts.length; i++) scoreCounts[i] += other.scoreCounts[i];
+        for (int i = 0; i < correctCounts.length; i++) correctCounts[i] += other.correctCounts[i];
+        sessions += other.sessions;
+        totalScore += other.totalScore;
+    }
+
+    public long getSessions() { return sessions; }
+
+    public double meanScore() {
+        return sessions == 0 ? 0 : (double) totalScore / sessions;
+    }
+
+    /** Score at the given percentile (0-100) */
+    public int scorePercentile(double percentile) {
+        long target = (long) Math.ceil(sessions * percentile / 100.0);
+        long seen = 0;
+        for (int score = 0; score < scoreCounts.length; score++) {
+            seen += scoreCounts[score];
+            if (seen >= Math.max(1, target)) return score;
+        }
+        return scoreCounts.length - 1;
+    }
+
+    /** Fraction of sessions with exactly this many correct answers */
+    public double correctShare(int correct) {
+        return sessions == 0 ? 0 : (double) correctCounts[correct] / sessions;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("sessions=%d mean=%.2f p10=%d p50=%d p90=%d max=%d",
+                sessions, meanScore(), scorePercentile(10), scorePercentile(50), scorePercentile(90), scorePercentile(100));
+    }
+}
@@ -0,0 +1,86 @@
+import java.io.*;
+
+/** One finished game as stored in the player history file */
+public final class SessionRecord {
+    public static final byte RESULT_INCORRECT = 0;
+    public static final byte RESULT_CORRECT = 1;
+    public static final byte RESULT_TIMED_OUT = 2;
+
+    private final String player;
+    private final int difficultyMax;
+    private final long timestamp;
+    private final int score;
+    private final byte[] results;
+    private final int[] responseMillis;
+    private final int[] points;
+
+    public SessionRecord(String player, int difficultyMax, long timestamp, int score,
+                         byte[] results, int[] responseMillis, int[] points) {
+        this.player = player;
+        this.difficultyMax = difficultyMax;
+        this.timestamp = timestamp;
+        this.score = score;
+        this.results = results;
+        this.responseMillis = responseMillis;
+        this.points = points;
+    }
+
+    /** Captures a finished GameSession */
+    public static SessionRecord from(String player, int difficultyMax, GameSession game) {
+        int items = game.getTotalItems();
+        byte[] results = new byte[items];
+        int[] millis = new int[items];
+        int[] points = new int[items];
+        for (int i = 0; i < items; i++) {
+            results[i] = game.isTimedOut(i) ? RESULT_TIMED_OUT : game.isCorrect(i) ? RESULT_CORRECT : RESULT_INCORRECT;
+            millis[i] = game.getResponseMillis(i);
+            points[i] = game.getItemPoints(i);
+        }
+        return new SessionRecord(player, difficultyMax, System.currentTimeMillis(), game.getScore(), results, millis, points);
+    }
+
+    public String getPlayer() { return player; }
+    public int getDifficultyMax() { return difficultyMax; }
+    public long getTimestamp() { return timestamp; }
+    public int getScore() { return score; }
+    public int getItems() { return results.length; }
+    public byte getResult(int i) { return results[i]; }
+    public int getResponseMillis(int i) { return responseMillis[i]; }
+    public int getPoints(int i) { return points[i]; }
+
+    public int getCorrectCount() {
+        int correct = 0;
+        for (byte result : results) if (result == RESULT_CORRECT) correct++;
+        return correct;
+    }
+
+    void writeTo(DataOutput out) throws IOException {
+        out.writeUTF(player);
+        out.writeInt(difficultyMax);
+        out.writeLong(timestamp);
+        out.writeInt(score);
+        out.writeShort(results.length);
+        for (int i = 0; i < results.length; i++) {
+            out.writeByte(results[i]);
+            out.writeInt(responseMillis[i]);
+            out.writeShort(points[i]);
+        }
+    }
+
+    static SessionRecord readFrom(DataInput in) throws IOException {
+        String player = in.readUTF();
+        int difficultyMax = in.readInt();
+        long timestamp = in.readLong();
+        int score = in.readInt();
+        int items = in.readUnsignedShort();
+        byte[] results = new byte[items];
+        int[] millis = new int[items];
+        int[] points = new int[items];
+        for (int i = 0; i < items; i++) {
+            results[i] = in.readByte();
+            millis[i] = in.readInt();
+            points[i] = in.readShort();
+        }
+        return new SessionRecord(player, difficultyMax, timestamp, score, results, millis, points);
+    }
+}
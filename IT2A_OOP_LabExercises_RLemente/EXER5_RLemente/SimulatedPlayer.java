@@ -0,0 +1,31 @@
+import java.util.Random;
+
+/** A computer player for headless simulations */
+public interface SimulatedPlayer {
+    /** Returned by answer() when the player lets the timer run out */
+    int TIMEOUT = Integer.MIN_VALUE;
+
+    int answer(ArithmeticProblem problem, int itemIndex, Random random);
+
+    /** Right with probability {@code accuracy}, times out with {@code timeoutRate}, otherwise off by a little */
+    static SimulatedPlayer random(double accuracy, double timeoutRate) {
+        return (problem, itemIndex, random) -> {
+            double roll = random.nextDouble();
+            if (roll < timeoutRate) return TIMEOUT;
+            if (roll < timeoutRate + accuracy) return problem.getAnswer();
+            return problem.getAnswer() + 1 + random.nextInt(9);
+        };
+    }
+
+    /** Follows a script per item: 'C' correct, 'W' wrong, 'T' time-out (repeats when it runs out) */
+    static SimulatedPlayer scripted(String script) {
+        if (script.isEmpty()) throw new IllegalArgumentException("Script must not be empty");
+        return (problem, itemIndex, random) -> {
+            switch (script.charAt(itemIndex % script.length())) {
+                case 'C': return problem.getAnswer();
+                case 'T': return TIMEOUT;
+                default: return problem.getAnswer() + 1;
+            }
+        };
+    }
+}